@@ -0,0 +1,24 @@
+#!/usr/bin/env bash
+# Compara throughput e latência de /api/event e /api/event/filter com threads de plataforma e virtual threads.
+# Pré-requisitos: jar empacotado (mvn package), Postgres configurado em application.properties e k6 no PATH.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+JAR=$(ls target/api-*-exec.jar | head -n 1)
+OUT=target/loadtest
+mkdir -p "$OUT"
+
+run_mode() {
+    local mode=$1 profiles=$2
+    java -jar "$JAR" --spring.profiles.active="$profiles" > "$OUT/app-$mode.log" 2>&1 &
+    local pid=$!
+    until curl -sf "http://localhost:8080/api/event" > /dev/null; do sleep 1; done
+    k6 run --summary-export "$OUT/summary-$mode.json" loadtest/events.js | tee "$OUT/k6-$mode.txt"
+    kill "$pid"
+    wait "$pid" || true
+}
+
+run_mode platform "${BASE_PROFILES:-default}"
+run_mode virtual "${BASE_PROFILES:-default},virtual"
+
+echo "Resumos em $OUT/summary-platform.json e $OUT/summary-virtual.json"
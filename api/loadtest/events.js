@@ -0,0 +1,35 @@
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = parseInt(__ENV.VUS || '200');
+const DURATION = __ENV.DURATION || '60s';
+
+export const options = {
+    scenarios: {
+        upcoming: {
+            executor: 'constant-vus',
+            vus: VUS,
+            duration: DURATION,
+            exec: 'upcoming',
+        },
+        filter: {
+            executor: 'constant-vus',
+            vus: VUS,
+            duration: DURATION,
+            exec: 'filter',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function upcoming() {
+    const res = http.get(`${BASE_URL}/api/event?page=0&size=10`, { tags: { endpoint: 'upcoming' } });
+    check(res, { 'status 200': (r) => r.status === 200 });
+}
+
+export function filter() {
+    const res = http.get(`${BASE_URL}/api/event/filter?page=0&size=10&city=Sao&uf=SP&startDate=2024-01-01&endDate=2030-12-31`,
+        { tags: { endpoint: 'filter' } });
+    check(res, { 'status 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,83 @@
+#!/usr/bin/env bash
+# Mede o tempo até a API responder em /actuator/health e o RSS nesse momento, em três modos:
+#   jar      java -jar do jar executável
+#   cds      jar extraído + arquivo CDS gravado numa execução de treino
+#   cds-aot  o anterior com -Dspring.aot.enabled=true (só quando o jar foi gerado com mvn -Paot)
+# Pré-requisitos: jar empacotado e Postgres configurado (SPRING_DATASOURCE_URL/USERNAME/PASSWORD ou application.properties).
+# Variáveis opcionais: RUNS (padrão 5), PORT (padrão 18081), JAVA (padrão java), APP_ARGS (argumentos extras da aplicação).
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+JAR=$(ls target/api-*-exec.jar | head -n 1)
+OUT=target/startup
+JAVA=${JAVA:-java}
+RUNS=${RUNS:-5}
+PORT=${PORT:-18081}
+read -r -a APP_ARGS <<< "${APP_ARGS:-}"
+rm -rf "$OUT"
+mkdir -p "$OUT"
+
+# O CDS exige um classpath de jars comuns, não o jar aninhado: extrai o jar fino + lib/
+"$JAVA" -Djarmode=tools -jar "$JAR" extract --destination "$OUT/app" > /dev/null
+APP_JAR="$OUT/app/$(basename "$JAR")"
+
+AOT=false
+if unzip -Z1 "$JAR" 'BOOT-INF/classes/*__ApplicationContextInitializer.class' > /dev/null 2>&1; then
+    AOT=true
+fi
+
+# Treino: sobe o contexto, grava as classes carregadas no arquivo e sai logo após o refresh
+train() {
+    local archive=$1
+    shift
+    "$JAVA" -XX:ArchiveClassesAtExit="$archive" -Dspring.context.exit=onRefresh "$@" -jar "$APP_JAR" \
+        --server.port="$PORT" "${APP_ARGS[@]}" > "${archive%.jsa}-train.log" 2>&1
+}
+
+measure() {
+    local mode=$1
+    shift
+    for run in $(seq 1 "$RUNS"); do
+        local start pid ready rss
+        start=$(date +%s%N)
+        "$JAVA" "$@" --server.port="$PORT" "${APP_ARGS[@]}" > "$OUT/$mode-$run.log" 2>&1 &
+        pid=$!
+        until curl -sf -o /dev/null "http://localhost:$PORT/actuator/health"; do
+            if ! kill -0 "$pid" 2> /dev/null; then
+                echo "$mode: a aplicação terminou antes de responder, veja $OUT/$mode-$run.log" >&2
+                exit 1
+            fi
+            sleep 0.05
+        done
+        ready=$(( ($(date +%s%N) - start) / 1000000 ))
+        rss=$(ps -o rss= -p "$pid" | tr -d ' ')
+        kill "$pid"
+        wait "$pid" || true
+        echo "$mode,$run,$ready,$rss" >> "$OUT/results.csv"
+    done
+}
+
+echo "mode,run,ready_ms,rss_kb" > "$OUT/results.csv"
+measure jar -jar "$JAR"
+
+train "$OUT/app.jsa"
+measure cds -XX:SharedArchiveFile="$OUT/app.jsa" -jar "$APP_JAR"
+
+if $AOT; then
+    train "$OUT/app-aot.jsa" -Dspring.aot.enabled=true
+    measure cds-aot -XX:SharedArchiveFile="$OUT/app-aot.jsa" -Dspring.aot.enabled=true -jar "$APP_JAR"
+fi
+
+median() {
+    sort -n | awk '{ values[NR] = $1 } END { print values[int((NR + 1) / 2)] }'
+}
+
+echo "mode     ready_ms  rss_mb"
+for mode in jar cds cds-aot; do
+    if grep -q "^$mode," "$OUT/results.csv"; then
+        printf "%-8s %8d %7d\n" "$mode" \
+            "$(grep "^$mode," "$OUT/results.csv" | cut -d, -f3 | median)" \
+            "$(( $(grep "^$mode," "$OUT/results.csv" | cut -d, -f4 | median) / 1024 ))"
+    fi
+done
+echo "Resultados em $OUT/results.csv"
@@ -2,15 +2,20 @@ package com.eventostec.api.config;
 
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.BasicAWSCredentials;
-import com.amazonaws.auth.DefaultAWSCredentialsProviderChain;
+import com.amazonaws.client.builder.AwsClientBuilder;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.Executors;
+
 @Configuration
 public class AWSConfig {
 
@@ -23,22 +28,48 @@ public class AWSConfig {
     @Value("${aws.secretAccessKey}")
     private String secretAccessKey;
 
+    @Value("${aws.s3.endpoint:}")
+    private String s3Endpoint;
+
+    @Value("${aws.s3.upload.multipart-threshold:8388608}")
+    private long multipartThreshold;
+
+    @Value("${aws.s3.upload.part-size:5242880}")
+    private long partSize;
+
+    @Value("${aws.s3.upload.threads:4}")
+    private int uploadThreads;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
     private static final Logger logger = LoggerFactory.getLogger(AWSConfig.class);
 
+    // Preguiçosos: o cliente custa segundos no boot e só é usado no primeiro upload ou URL pré-assinada
     @Bean
+    @Lazy
     public AmazonS3 createS3instance() {
         logger.info("Inicializando o cliente AmazonS3...");
         logger.info("Região configurada: {}", awsRegion);
         logger.info("Access Key ID: {}", accessKeyId.substring(0, 4) + "****");
 
         try {
-            AmazonS3 s3Client = AmazonS3ClientBuilder
+            AmazonS3ClientBuilder builder = AmazonS3ClientBuilder
                     .standard()
-                    .withRegion(awsRegion)
                     .withCredentials(new AWSStaticCredentialsProvider(
                             new BasicAWSCredentials(accessKeyId, secretAccessKey)
-                    ))
-                    .build();
+                    ));
+
+            if (s3Endpoint.isBlank()) {
+                builder.withRegion(awsRegion);
+            } else {
+                // Endpoint local compatível com S3 (MinIO, LocalStack) para testes
+                logger.info("Usando endpoint S3 customizado: {}", s3Endpoint);
+                builder.withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(s3Endpoint, awsRegion))
+                        .withPathStyleAccessEnabled(true);
+            }
+
+            AmazonS3 s3Client = builder.build();
             logger.info("Cliente AmazonS3 inicializado com sucesso.");
             return s3Client;
         } catch (Exception e) {
@@ -46,4 +77,18 @@ public class AWSConfig {
             throw e;
         }
     }
+
+    @Bean(destroyMethod = "shutdownNow")
+    @Lazy
+    public TransferManager transferManager(AmazonS3 s3Client) {
+        return TransferManagerBuilder.standard()
+                .withS3Client(s3Client)
+                .withMultipartUploadThreshold(multipartThreshold)
+                .withMinimumUploadPartSize(partSize)
+                .withExecutorFactory(() -> virtualThreads
+                        ? Executors.newFixedThreadPool(uploadThreads, Thread.ofVirtual().name("s3-transfer-", 0).factory())
+                        : Executors.newFixedThreadPool(uploadThreads))
+                .withShutDownThreadPools(true)
+                .build();
+    }
 }
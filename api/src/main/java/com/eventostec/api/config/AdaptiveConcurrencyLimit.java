@@ -0,0 +1,61 @@
+package com.eventostec.api.config;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limite de concorrência AIMD: cresce um a um enquanto as requisições terminam dentro do alvo de latência e
+ * cai 10% quando passam dele, no máximo uma vez por janela do alvo para que uma rajada de respostas lentas
+ * não derrube o limite de uma vez. Acima do limite a requisição é recusada antes de ocupar thread e conexão.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private final long latencyTarget;
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong lastDecrease = new AtomicLong(System.nanoTime());
+
+    public AdaptiveConcurrencyLimit(Duration latencyTarget, int minLimit, int maxLimit) {
+        this.latencyTarget = latencyTarget.toNanos();
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = new AtomicInteger(maxLimit);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long latencyNanos) {
+        int concurrent = inFlight.getAndDecrement();
+        if (latencyNanos > latencyTarget) {
+            long now = System.nanoTime();
+            long last = lastDecrease.get();
+            if (now - last > latencyTarget && lastDecrease.compareAndSet(last, now)) {
+                limit.updateAndGet(current -> Math.max(minLimit, (int) (current * 0.9)));
+            }
+        } else if (concurrent * 2 >= limit.get()) {
+            // Só cresce quando o limite está sendo usado; ocioso ele ficaria alto sem ter sido testado
+            limit.updateAndGet(current -> Math.min(maxLimit, current + 1));
+        }
+    }
+
+    public int limit() {
+        return limit.get();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,52 @@
+package com.eventostec.api.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionException;
+
+@Configuration
+public class AsyncConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${events.upload.async.pool-size:4}")
+    private int poolSize;
+
+    @Value("${events.upload.async.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Bean(name = "imageUploadExecutor")
+    public TaskExecutor imageUploadExecutor() {
+        if (virtualThreads) {
+            // Uma virtual thread por upload; o limite de concorrência segura a pressão sobre o S3
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("image-upload-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(poolSize);
+            executor.setTaskTerminationTimeout(30_000);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-upload-");
+        // Fila cheia: o upload roda na própria thread da requisição em vez de ser descartado. Com o executor já
+        // encerrando a CallerRunsPolicy descartaria em silêncio; a recusa volta para quem agendou
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            if (pool.isShutdown()) {
+                throw new RejectedExecutionException("Image upload executor is shut down");
+            }
+            task.run();
+        });
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -0,0 +1,55 @@
+package com.eventostec.api.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket por cliente no formato GCRA: o estado de cada cliente é só o instante teórico da próxima
+ * chegada, atualizado com compare-and-set, sem lock nem thread de reposição. Clientes ociosos saem do
+ * mapa depois de {@code ttl}.
+ */
+public class GcraRateLimiter {
+
+    private final long interval;
+    private final long tolerance;
+    private final Cache<String, AtomicLong> arrivals;
+
+    public GcraRateLimiter(double rate, int burst, Duration ttl, long maxClients) {
+        if (rate <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("rate and burst must be positive");
+        }
+        this.interval = (long) (1_000_000_000L / rate);
+        this.tolerance = interval * burst;
+        this.arrivals = Caffeine.newBuilder()
+                .expireAfterAccess(ttl)
+                .maximumSize(maxClients)
+                .build();
+    }
+
+    /** Zero se a requisição foi aceita; senão quantos nanossegundos o cliente deve esperar. */
+    public long acquire(String client) {
+        return this.acquire(client, System.nanoTime());
+    }
+
+    long acquire(String client, long now) {
+        AtomicLong arrival = arrivals.get(client, key -> new AtomicLong(now));
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, now) + interval;
+            long wait = next - now - tolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public long clients() {
+        return arrivals.estimatedSize();
+    }
+}
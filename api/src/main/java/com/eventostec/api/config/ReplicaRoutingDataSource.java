@@ -0,0 +1,156 @@
+package com.eventostec.api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Destino das transações somente leitura: distribui as conexões entre as réplicas saudáveis em round-robin e usa
+ * o primário quando nenhuma está disponível ou quando a requisição precisa ler o que acabou de escrever
+ * ({@link ReadYourWrites}). Uma réplica sai da rotação ao falhar uma conexão ou ao atrasar mais que o limite,
+ * e volta na próxima verificação bem-sucedida.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    // Réplica que já aplicou tudo o que o primário tinha no início da verificação não tem atraso, mesmo que o
+    // último commit replicado seja antigo porque o primário está ocioso
+    private static final String LAG_QUERY = """
+            SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_replay_lsn() >= CAST(? AS pg_lsn) THEN 0
+                        ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END
+            """;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas, Duration maxLag) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.maxLagMillis = maxLag.toMillis();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (ReadYourWrites.isPinned()) {
+            return primary.getConnection();
+        }
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                replica.markDown("falha ao obter conexão: " + e.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // Credenciais explícitas não passam pelo roteamento; o Hikari responde com SQLFeatureNotSupportedException
+        return primary.getConnection(username, password);
+    }
+
+    @Scheduled(fixedDelayString = "${events.datasource.replica.health-interval:PT5S}")
+    public void checkReplicas() {
+        String primaryLsn;
+        try {
+            primaryLsn = this.primaryWalPosition();
+        } catch (SQLException e) {
+            logger.warn("Não foi possível consultar a posição do WAL no primário: {}", e.getMessage());
+            return;
+        }
+
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                long lag = lagMillis(connection, primaryLsn);
+                if (lag > maxLagMillis) {
+                    replica.markDown("atraso de " + lag + " ms");
+                } else {
+                    replica.markUp();
+                }
+            } catch (SQLException e) {
+                replica.markDown("verificação falhou: " + e.getMessage());
+            }
+        }
+    }
+
+    public long healthyReplicas() {
+        return replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private String primaryWalPosition() throws SQLException {
+        try (Connection connection = primary.getConnection()) {
+            if (!isPostgres(connection)) {
+                return null;
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT pg_current_wal_lsn()::text")) {
+                rs.next();
+                return rs.getString(1);
+            }
+        }
+    }
+
+    private static long lagMillis(Connection connection, String primaryLsn) throws SQLException {
+        if (primaryLsn == null || !isPostgres(connection)) {
+            return connection.isValid(1) ? 0 : Long.MAX_VALUE;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(LAG_QUERY)) {
+            statement.setString(1, primaryLsn);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private static boolean isPostgres(Connection connection) throws SQLException {
+        return "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+    }
+
+    private static final class Replica {
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private void markDown(String reason) {
+            if (healthy) {
+                logger.warn("Réplica {} fora da rotação de leitura: {}", dataSource.getPoolName(), reason);
+            }
+            healthy = false;
+        }
+
+        private void markUp() {
+            if (!healthy) {
+                logger.info("Réplica {} de volta à rotação de leitura", dataSource.getPoolName());
+            }
+            healthy = true;
+        }
+    }
+}
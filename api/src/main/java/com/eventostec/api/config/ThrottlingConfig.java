@@ -0,0 +1,47 @@
+package com.eventostec.api.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(ThrottlingProperties.class)
+@ConditionalOnProperty(value = "events.throttling.enabled", matchIfMissing = true)
+public class ThrottlingConfig {
+
+    @Bean
+    public FilterRegistrationBean<ThrottlingFilter> throttlingFilter(ThrottlingProperties properties, MeterRegistry meterRegistry) {
+        Map<String, ThrottlingProperties.Endpoint> endpoints = properties.endpoints() != null ? properties.endpoints() : Map.of();
+        List<ThrottlingFilter.Rule> rules = endpoints.entrySet().stream()
+                .map(entry -> ThrottlingFilter.Rule.of(entry.getKey(), entry.getValue(), properties.clientTtl(), properties.maxClients(), meterRegistry))
+                .toList();
+
+        ThrottlingProperties.Adaptive adaptiveProperties = properties.adaptive();
+        AdaptiveConcurrencyLimit adaptive = adaptiveProperties.enabled()
+                ? new AdaptiveConcurrencyLimit(adaptiveProperties.latencyTarget(), adaptiveProperties.minLimit(), adaptiveProperties.maxLimit())
+                : null;
+
+        ThrottlingFilter filter = new ThrottlingFilter(rules, properties.uploads().maxConcurrent(), properties.uploads().queueTimeout(),
+                adaptive, meterRegistry);
+
+        Gauge.builder("events.throttling.clients", filter, ThrottlingFilter::clients).register(meterRegistry);
+        Gauge.builder("events.throttling.uploads.in_flight", filter, ThrottlingFilter::uploadsInFlight).register(meterRegistry);
+        if (adaptive != null) {
+            Gauge.builder("events.throttling.limit", adaptive, AdaptiveConcurrencyLimit::limit).register(meterRegistry);
+            Gauge.builder("events.throttling.in_flight", adaptive, AdaptiveConcurrencyLimit::inFlight).register(meterRegistry);
+        }
+
+        FilterRegistrationBean<ThrottlingFilter> registration = new FilterRegistrationBean<>(filter);
+        // Antes de tudo que leia o corpo; o multipart só é processado no DispatcherServlet
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
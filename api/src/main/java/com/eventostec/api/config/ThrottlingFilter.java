@@ -0,0 +1,160 @@
+package com.eventostec.api.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Proteção das rotas de escrita, antes do corpo ser lido: rate limit por cliente (429), limite de cadastros
+ * com imagem simultâneos (503) e limite adaptativo de concorrência das escritas (503). As leituras não
+ * passam por aqui e continuam com threads e conexões livres quando as escritas saturam.
+ *
+ * Uploads e rotas com {@code adaptive=false} ficam fora do limite adaptativo: duram o tempo da transferência
+ * (ou da importação) e, medidos junto, derrubariam o limite das escritas rápidas.
+ */
+public class ThrottlingFilter extends OncePerRequestFilter {
+
+    private final List<Rule> rules;
+    private final Semaphore uploads;
+    private final int maxUploads;
+    private final long uploadQueueTimeout;
+    private final AdaptiveConcurrencyLimit adaptive;
+    private final MeterRegistry meterRegistry;
+
+    public ThrottlingFilter(List<Rule> rules, int maxUploads, Duration uploadQueueTimeout, AdaptiveConcurrencyLimit adaptive,
+                            MeterRegistry meterRegistry) {
+        this.rules = rules;
+        this.uploads = new Semaphore(maxUploads);
+        this.maxUploads = maxUploads;
+        this.uploadQueueTimeout = uploadQueueTimeout.toNanos();
+        this.adaptive = adaptive;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Rule rule = this.match(request);
+        if (rule == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long wait = rule.limiter().acquire(request.getRemoteAddr());
+        if (wait > 0) {
+            this.reject(response, HttpStatus.TOO_MANY_REQUESTS, wait, rule.rateLimited());
+            return;
+        }
+        if (isMultipart(request)) {
+            this.doFilterUpload(request, response, chain, rule);
+        } else if (adaptive != null && rule.adaptive()) {
+            this.doFilterAdaptive(request, response, chain, rule);
+        } else {
+            chain.doFilter(request, response);
+        }
+    }
+
+    private void doFilterAdaptive(HttpServletRequest request, HttpServletResponse response, FilterChain chain, Rule rule)
+            throws ServletException, IOException {
+        if (!adaptive.tryAcquire()) {
+            this.reject(response, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1), rule.overloaded());
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            adaptive.release(System.nanoTime() - start);
+        }
+    }
+
+    private void doFilterUpload(HttpServletRequest request, HttpServletResponse response, FilterChain chain, Rule rule)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = uploads.tryAcquire(uploadQueueTimeout, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            this.reject(response, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1), rule.uploadsFull());
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            uploads.release();
+        }
+    }
+
+    private Rule match(HttpServletRequest request) {
+        PathContainer path = null;
+        for (Rule rule : rules) {
+            if (rule.method().equalsIgnoreCase(request.getMethod())) {
+                if (path == null) {
+                    path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+                }
+                if (rule.path().matches(path)) {
+                    return rule;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterNanos, Counter rejections) {
+        rejections.increment();
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (retryAfterNanos + 999_999_999L) / 1_000_000_000L)));
+    }
+
+    private static boolean isMultipart(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase().startsWith(MediaType.MULTIPART_FORM_DATA_VALUE);
+    }
+
+    public int uploadsInFlight() {
+        return maxUploads - uploads.availablePermits();
+    }
+
+    public long clients() {
+        return rules.stream().mapToLong(rule -> rule.limiter().clients()).sum();
+    }
+
+    public record Rule(String name, String method, PathPattern path, boolean adaptive, GcraRateLimiter limiter,
+                       Counter rateLimited, Counter uploadsFull, Counter overloaded) {
+
+        public static Rule of(String name, ThrottlingProperties.Endpoint endpoint, Duration clientTtl, long maxClients,
+                              MeterRegistry meterRegistry) {
+            return new Rule(name, endpoint.method(), PathPatternParser.defaultInstance.parse(endpoint.path()), endpoint.adaptive(),
+                    new GcraRateLimiter(endpoint.rate(), endpoint.burst(), clientTtl, maxClients),
+                    rejections(meterRegistry, name, "rate_limit"),
+                    rejections(meterRegistry, name, "uploads"),
+                    rejections(meterRegistry, name, "overload"));
+        }
+
+        private static Counter rejections(MeterRegistry meterRegistry, String endpoint, String reason) {
+            return Counter.builder("events.throttling.rejected")
+                    .tag("endpoint", endpoint)
+                    .tag("reason", reason)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.eventostec.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Limites das rotas de escrita. Cada entrada de {@code endpoints} é um token bucket por cliente (IP) com vazão
+ * {@code rate} por segundo e rajada {@code burst}; {@code uploads} limita quantos cadastros com imagem rodam ao
+ * mesmo tempo e {@code adaptive} derruba escritas quando a latência delas passa do alvo. Rotas lentas por natureza
+ * (importação) saem do limite adaptativo com {@code endpoints.<nome>.adaptive=false}.
+ */
+@ConfigurationProperties("events.throttling")
+public record ThrottlingProperties(@DefaultValue("true") boolean enabled,
+                                   @DefaultValue("PT10M") Duration clientTtl,
+                                   @DefaultValue("100000") long maxClients,
+                                   Map<String, Endpoint> endpoints,
+                                   @DefaultValue Uploads uploads,
+                                   @DefaultValue Adaptive adaptive) {
+
+    public record Endpoint(String method, String path, double rate, @DefaultValue("1") int burst,
+                           @DefaultValue("true") boolean adaptive) {
+    }
+
+    public record Uploads(@DefaultValue("8") int maxConcurrent, @DefaultValue("PT0.5S") Duration queueTimeout) {
+    }
+
+    public record Adaptive(@DefaultValue("true") boolean enabled,
+                           @DefaultValue("PT1S") Duration latencyTarget,
+                           @DefaultValue("4") int minLimit,
+                           @DefaultValue("64") int maxLimit) {
+    }
+}
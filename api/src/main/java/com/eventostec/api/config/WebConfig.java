@@ -0,0 +1,57 @@
+package com.eventostec.api.config;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * Ajustes de HTTP das leituras de eventos: ETags das listagens e os formatos binários negociados pelo header
+ * Accept (application/cbor e application/x-jackson-smile), que usam a mesma configuração do ObjectMapper
+ * de JSON mas serializam datas como timestamp numérico.
+ */
+@Configuration
+public class WebConfig {
+
+    /**
+     * ETag pelo hash do corpo nas listagens: o 304 ainda consulta e serializa, mas evita reenviar a página.
+     * É fraco porque o Tomcat não comprime respostas com ETag forte, e a página cheia pesa mais que o gzip.
+     * O detalhe do evento não passa por aqui porque valida pela versão antes de montar a resposta.
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> listingEtagFilter() {
+        ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter();
+        filter.setWriteWeakETag(true);
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/event", "/api/event/filter", "/api/event/search", "/api/event/cursor", "/api/event/filter/cursor",
+                "/api/event/near");
+        return registration;
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder
+                .factory(new CBORFactory())
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        // Referências a strings repetidas (cidade, UF, prefixos curtos) viram back-references de 1-2 bytes
+        SmileFactory factory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return new MappingJackson2SmileHttpMessageConverter(builder
+                .factory(factory)
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+    }
+}
@@ -0,0 +1,51 @@
+package com.eventostec.api.controller;
+
+import com.eventostec.api.domain.change.ChangeFeedPageDTO;
+import com.eventostec.api.service.ChangeFeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeFeedController {
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Value("${events.changes.max-wait:PT30S}")
+    private Duration maxWait;
+
+    @GetMapping
+    public DeferredResult<ResponseEntity<ChangeFeedPageDTO>> getChanges(@RequestParam(defaultValue = "0") long after,
+                                                                         @RequestParam(defaultValue = "100") int limit,
+                                                                         @RequestParam(defaultValue = "PT25S") Duration wait) {
+        if (limit <= 0 || wait.isNegative()) {
+            throw new IllegalArgumentException("limit must be positive and wait must not be negative");
+        }
+        if (!changeFeedService.isRetained(after)) {
+            DeferredResult<ResponseEntity<ChangeFeedPageDTO>> gone = new DeferredResult<>();
+            gone.setResult(ResponseEntity.status(HttpStatus.GONE).build());
+            return gone;
+        }
+        return changeFeedService.poll(after, limit, wait.compareTo(maxWait) > 0 ? maxWait : wait);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(@RequestParam(required = false) Long after,
+                                                    @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        // Na reconexão o EventSource reenvia o id do último evento recebido, que tem precedência
+        long position = lastEventId != null ? lastEventId : after != null ? after : 0;
+        if (!changeFeedService.isRetained(position)) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+        return ResponseEntity.ok(changeFeedService.subscribe(position));
+    }
+}
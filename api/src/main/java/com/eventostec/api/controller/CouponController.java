@@ -1,9 +1,14 @@
 package com.eventostec.api.controller;
 
 import com.eventostec.api.domain.coupon.Coupon;
+import com.eventostec.api.domain.coupon.CouponRedeemRequestDTO;
+import com.eventostec.api.domain.coupon.CouponRedemptionDTO;
+import com.eventostec.api.domain.coupon.CouponRedemptionStatus;
 import com.eventostec.api.domain.coupon.CouponRequestDTO;
 import com.eventostec.api.service.CouponService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -15,6 +20,7 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class CouponController {
 
+    @Autowired
     private CouponService couponService;
 
     @PostMapping("/event/{eventId}")
@@ -22,5 +28,13 @@ public class CouponController {
         Coupon coupons = couponService.addCouponToEvent(eventId, data);
         return ResponseEntity.ok(coupons);
     }
-}
 
+    @PostMapping("/event/{eventId}/redeem")
+    public ResponseEntity<CouponRedemptionDTO> redeemCoupon(@PathVariable UUID eventId, @RequestBody CouponRedeemRequestDTO data) {
+        CouponRedemptionDTO redemption = couponService.redeem(eventId, data);
+        if (redemption.status() != CouponRedemptionStatus.REDEEMED) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(redemption);
+        }
+        return ResponseEntity.ok(redemption);
+    }
+}
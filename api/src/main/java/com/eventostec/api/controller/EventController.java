@@ -1,18 +1,37 @@
 package com.eventostec.api.controller;
 
 import com.eventostec.api.domain.event.Event;
+import com.eventostec.api.domain.event.EventCursorPageDTO;
 import com.eventostec.api.domain.event.EventDetailsDTO;
+import com.eventostec.api.domain.event.EventImportResultDTO;
+import com.eventostec.api.domain.event.EventNearbyDTO;
 import com.eventostec.api.domain.event.EventRequestDTO;
 import com.eventostec.api.domain.event.EventResponseDTO;
+import com.eventostec.api.domain.event.EventVersionDTO;
+import com.eventostec.api.domain.event.ImageStatusDTO;
+import com.eventostec.api.domain.image.ImageUploadUrlDTO;
+import com.eventostec.api.domain.image.ImageUploadUrlRequestDTO;
+import com.eventostec.api.service.EventExportService;
+import com.eventostec.api.service.EventImportService;
 import com.eventostec.api.service.EventService;
+import com.eventostec.api.service.ImageStorageService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
@@ -21,10 +40,19 @@ import java.util.UUID;
 @RestController
 @RequestMapping("/api/event")
 public class EventController {
-    private static final Logger logger = LoggerFactory.getLogger(EventService.class);
+    private static final Logger logger = LoggerFactory.getLogger(EventController.class);
     @Autowired
     private EventService eventService;
 
+    @Autowired
+    private EventImportService eventImportService;
+
+    @Autowired
+    private EventExportService eventExportService;
+
+    @Autowired
+    private ImageStorageService imageStorageService;
+
     @PostMapping(consumes = "multipart/form-data")
     public ResponseEntity<Event> create(@RequestParam("title") String title,
                                         @RequestParam(value = "description", required = false) String description,
@@ -33,27 +61,61 @@ public class EventController {
                                         @RequestParam("state") String uf,
                                         @RequestParam("remote") Boolean remote,
                                         @RequestParam("eventUrl") String eventUrl,
-                                        @RequestParam("image") MultipartFile image) {
-        EventRequestDTO eventRequestDTO = new EventRequestDTO(title, description, date , city, uf, remote, eventUrl,image);
+                                        @RequestParam(value = "image", required = false) MultipartFile image,
+                                        @RequestParam(value = "imageKey", required = false) String imageKey) {
+        EventRequestDTO eventRequestDTO = new EventRequestDTO(title, description, date , city, uf, remote, eventUrl, image, imageKey);
         Event newEvent = this.eventService.createEvent(eventRequestDTO);
-        System.out.println("Objeto retornado: " + newEvent);
-        logger.info("Recebendo solicitação para criar evento:");
-        logger.info("Título: {}", title);
-        logger.info("Descrição: {}", description);
-        logger.info("Data (timestamp): {}", date);
-        logger.info("Cidade: {}", city);
-        logger.info("Estado: {}", uf);
-        logger.info("Remoto: {}", remote);
-        logger.info("URL do evento: {}", eventUrl);
-        logger.info("Imagem: Nome do arquivo = {}, Tamanho = {} bytes",
-                image.getOriginalFilename(), image.getSize());
+        logger.debug("Evento {} criado: título={}, cidade={}, estado={}, remoto={}, imagem={}",
+                newEvent.getId(), title, city, uf, remote, image != null ? image.getOriginalFilename() : imageKey);
         return ResponseEntity.ok(newEvent);
     }
 
+    @PostMapping("/image-upload-url")
+    public ResponseEntity<ImageUploadUrlDTO> createImageUploadUrl(@RequestBody ImageUploadUrlRequestDTO request) {
+        return ResponseEntity.ok(imageStorageService.createUploadUrl(request.filename(), request.contentType()));
+    }
+
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<EventImportResultDTO> importEvents(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                             InputStream body) throws IOException {
+        EventImportResultDTO result = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? eventImportService.importCsv(body)
+                : eventImportService.importNdjson(body);
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping("/export")
+    public void exportEvents(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response) throws IOException {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("format must be ndjson or csv");
+        }
+        response.setContentType(csv ? "text/csv" : "application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(csv ? "events.csv" : "events.ndjson").build().toString());
+
+        long exported = csv ? eventExportService.exportCsv(response.getOutputStream()) : eventExportService.exportNdjson(response.getOutputStream());
+        logger.debug("{} eventos exportados em {}", exported, format);
+    }
+
     @GetMapping("/{eventId}")
-    public ResponseEntity<EventDetailsDTO> getEventDetails(@PathVariable UUID eventId) {
-        EventDetailsDTO eventDetails = eventService.getEventDetails(eventId);
-        return ResponseEntity.ok(eventDetails);
+    public ResponseEntity<EventDetailsDTO> getEventDetails(@PathVariable UUID eventId, WebRequest request) {
+        // Valida If-None-Match/If-Modified-Since só com a versão do evento, antes de montar o corpo
+        EventVersionDTO version = eventService.getEventVersion(eventId);
+        if (request.checkNotModified(version.eTag(), version.lastModified())) {
+            return null;
+        }
+        EventDetailsDTO eventDetails = eventService.getEventDetails(version);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(eventDetails);
+    }
+
+    @GetMapping("/{eventId}/image-status")
+    public ResponseEntity<ImageStatusDTO> getImageStatus(@PathVariable UUID eventId) {
+        return ResponseEntity.ok(eventService.getImageStatus(eventId));
     }
 
     @GetMapping
@@ -72,4 +134,34 @@ public class EventController {
         List<EventResponseDTO> events = eventService.getFilteredEvents(page, size, city, uf, startDate, endDate);
         return ResponseEntity.ok(events);
     }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<EventResponseDTO>> searchEvents(@RequestParam("q") String query,
+                                                               @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(eventService.searchEvents(query, size));
+    }
+
+    @GetMapping("/near")
+    public ResponseEntity<List<EventNearbyDTO>> getEventsNear(@RequestParam double lat,
+                                                              @RequestParam double lon,
+                                                              @RequestParam(defaultValue = "50") double radiusKm,
+                                                              @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(eventService.getEventsNear(lat, lon, radiusKm, size));
+    }
+
+    @GetMapping("/cursor")
+    public ResponseEntity<EventCursorPageDTO> getEventsByCursor(@RequestParam(required = false) String cursor,
+                                                                @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(eventService.getUpcomingEvents(cursor, size));
+    }
+
+    @GetMapping("/filter/cursor")
+    public ResponseEntity<EventCursorPageDTO> getFilteredEventsByCursor(@RequestParam(required = false) String cursor,
+                                                                        @RequestParam(defaultValue = "10") int size,
+                                                                        @RequestParam String city,
+                                                                        @RequestParam String uf,
+                                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date startDate,
+                                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date endDate) {
+        return ResponseEntity.ok(eventService.getFilteredEvents(cursor, size, city, uf, startDate, endDate));
+    }
 }
@@ -23,8 +23,10 @@ public class Address {
 
     private String city;
     private String uf;
+    private Double latitude;
+    private Double longitude;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "event_id")
     private Event event;
 
@@ -36,6 +38,14 @@ public class Address {
         return uf;
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
     public Event getEvent() {
         return event;
     }
@@ -48,6 +58,14 @@ public class Address {
         this.uf = uf;
     }
 
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
     public void setEvent(Event event) {
         this.event = event;
     }
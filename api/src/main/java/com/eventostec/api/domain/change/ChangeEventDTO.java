@@ -0,0 +1,9 @@
+package com.eventostec.api.domain.change;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.util.Date;
+import java.util.UUID;
+
+public record ChangeEventDTO(long position, ChangeType type, UUID eventId, Date createdAt, @JsonRawValue String payload) {
+}
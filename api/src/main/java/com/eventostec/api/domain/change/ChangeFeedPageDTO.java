@@ -0,0 +1,6 @@
+package com.eventostec.api.domain.change;
+
+import java.util.List;
+
+public record ChangeFeedPageDTO(List<ChangeEventDTO> changes, long next) {
+}
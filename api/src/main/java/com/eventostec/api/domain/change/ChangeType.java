@@ -0,0 +1,6 @@
+package com.eventostec.api.domain.change;
+
+public enum ChangeType {
+    EVENT_CREATED,
+    COUPON_CREATED
+}
@@ -0,0 +1,44 @@
+package com.eventostec.api.domain.change;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.util.Date;
+import java.util.UUID;
+
+@Entity
+@Table(name = "change_outbox")
+public class OutboxChange {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private ChangeType type;
+
+    @Column(name = "event_id")
+    private UUID eventId;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    private String payload;
+
+    @Column(name = "created_at")
+    private Date createdAt;
+
+    public OutboxChange() {
+    }
+
+    public OutboxChange(ChangeType type, UUID eventId, String payload) {
+        this.type = type;
+        this.eventId = eventId;
+        this.payload = payload;
+        this.createdAt = new Date();
+    }
+
+    public Long getId() { return id; }
+    public ChangeType getType() { return type; }
+    public UUID getEventId() { return eventId; }
+    public String getPayload() { return payload; }
+    public Date getCreatedAt() { return createdAt; }
+}
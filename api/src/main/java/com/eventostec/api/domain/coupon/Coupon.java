@@ -24,11 +24,21 @@ public class Coupon {
     private String code;
     private Integer discount;
     private Date valid;
+    private Integer maxUses;
+    private Integer maxUsesPerUser;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "event_id")
     private Event event;
 
+    // Preenchido pelo banco (sequence + trigger); usado apenas pelo feed de mudanças do CouponIndex
+    @Column(name = "change_seq", insertable = false, updatable = false)
+    private Long changeSeq;
+
+    public UUID getId() {
+        return id;
+    }
+
     public String getCode() {
         return code;
     }
@@ -41,6 +51,14 @@ public class Coupon {
         return valid;
     }
 
+    public Integer getMaxUses() {
+        return maxUses;
+    }
+
+    public Integer getMaxUsesPerUser() {
+        return maxUsesPerUser;
+    }
+
     public Event getEvent() {
         return event;
     }
@@ -57,6 +75,14 @@ public class Coupon {
         this.valid = valid;
     }
 
+    public void setMaxUses(Integer maxUses) {
+        this.maxUses = maxUses;
+    }
+
+    public void setMaxUsesPerUser(Integer maxUsesPerUser) {
+        this.maxUsesPerUser = maxUsesPerUser;
+    }
+
     public void setEvent(Event event) {
         this.event = event;
     }
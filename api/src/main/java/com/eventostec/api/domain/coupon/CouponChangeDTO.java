@@ -0,0 +1,12 @@
+package com.eventostec.api.domain.coupon;
+
+import java.util.Date;
+import java.util.UUID;
+
+public record CouponChangeDTO(UUID id, UUID eventId, String code, Integer discount, Date valid, Integer maxUses, Integer maxUsesPerUser) {
+
+    public static CouponChangeDTO fromCoupon(UUID eventId, Coupon coupon) {
+        return new CouponChangeDTO(coupon.getId(), eventId, coupon.getCode(), coupon.getDiscount(), coupon.getValid(),
+                coupon.getMaxUses(), coupon.getMaxUsesPerUser());
+    }
+}
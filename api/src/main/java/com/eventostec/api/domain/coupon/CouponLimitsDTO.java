@@ -0,0 +1,6 @@
+package com.eventostec.api.domain.coupon;
+
+import java.util.UUID;
+
+public record CouponLimitsDTO(UUID id, String code, Integer discount, Integer maxUses, Integer maxUsesPerUser) {
+}
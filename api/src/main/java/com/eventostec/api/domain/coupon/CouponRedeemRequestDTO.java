@@ -0,0 +1,4 @@
+package com.eventostec.api.domain.coupon;
+
+public record CouponRedeemRequestDTO(String code, String userId) {
+}
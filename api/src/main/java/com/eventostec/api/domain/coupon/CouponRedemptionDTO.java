@@ -0,0 +1,4 @@
+package com.eventostec.api.domain.coupon;
+
+public record CouponRedemptionDTO(String code, Integer discount, CouponRedemptionStatus status) {
+}
@@ -0,0 +1,7 @@
+package com.eventostec.api.domain.coupon;
+
+public enum CouponRedemptionStatus {
+    REDEEMED,
+    SOLD_OUT,
+    USER_LIMIT_REACHED
+}
@@ -2,5 +2,5 @@ package com.eventostec.api.domain.coupon;
 
 import java.util.Date;
 
-public record CouponRequestDTO(String code, Integer discount, Long valid) {
+public record CouponRequestDTO(String code, Integer discount, Long valid, Integer maxUses, Integer maxUsesPerUser) {
 }
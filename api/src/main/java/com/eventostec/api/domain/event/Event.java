@@ -1,9 +1,10 @@
 package com.eventostec.api.domain.event;
 
-import com.eventostec.api.domain.address.Address;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.Date;
 import java.util.UUID;
@@ -24,10 +25,25 @@ public class Event {
     private String title;
     private String description;
     private String imgUrl;
+    private String imgCardUrl;
+    private String imgThumbnailUrl;
     private String eventUrl;
     private Boolean remote;
     private Date date;
 
+    @Enumerated(EnumType.STRING)
+    private ImageStatus imgStatus;
+
+    // Mantidos por trigger a cada alteração do evento, endereço ou cupons
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(insertable = false, updatable = false)
+    private Long version;
+
+    @JsonIgnore
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    private Date updatedAt;
 
       public void setTitle(String title) {
         this.title = title;
@@ -41,6 +57,14 @@ public class Event {
         this.imgUrl = imgUrl;
     }
 
+    public void setImgCardUrl(String imgCardUrl) {
+        this.imgCardUrl = imgCardUrl;
+    }
+
+    public void setImgThumbnailUrl(String imgThumbnailUrl) {
+        this.imgThumbnailUrl = imgThumbnailUrl;
+    }
+
     public void setEventUrl(String eventUrl) {
         this.eventUrl = eventUrl;
     }
@@ -53,19 +77,21 @@ public class Event {
         this.date = date;
     }
 
-    @OneToOne(mappedBy = "event", cascade = CascadeType.ALL)
-    private Address address;
-
-    public Address getAddress() {
-        return address;
+    public void setImgStatus(ImageStatus imgStatus) {
+        this.imgStatus = imgStatus;
     }
 
     public UUID getId() {return id;}
     public String getTitle() { return title; }
     public String getDescription() { return description; }
     public String getImgUrl() { return imgUrl; }
+    public String getImgCardUrl() { return imgCardUrl; }
+    public String getImgThumbnailUrl() { return imgThumbnailUrl; }
     public String getEventUrl() { return eventUrl; }
     public Boolean getRemote() { return remote; }
     public Date getDate() { return date; }
+    public ImageStatus getImgStatus() { return imgStatus; }
+    public Long getVersion() { return version; }
+    public Date getUpdatedAt() { return updatedAt; }
 
 }
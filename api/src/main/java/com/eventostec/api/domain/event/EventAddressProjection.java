@@ -9,6 +9,8 @@ public interface EventAddressProjection {
     String getDescription();
     Date getDate();
     String getImgUrl();
+    String getImgCardUrl();
+    String getImgThumbnailUrl();
     String getEventUrl();
     Boolean getRemote();
     String getCity();
@@ -0,0 +1,35 @@
+package com.eventostec.api.domain.event;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+
+public record EventCursor(Date date, UUID id) {
+
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    public static EventCursor first(Date date) {
+        return new EventCursor(date, FIRST_ID);
+    }
+
+    public static EventCursor after(EventAddressProjection event) {
+        return new EventCursor(event.getDate(), event.getId());
+    }
+
+    public static EventCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(':');
+            return new EventCursor(new Date(Long.parseLong(value.substring(0, separator))),
+                    UUID.fromString(value.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String value = date.getTime() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,6 @@
+package com.eventostec.api.domain.event;
+
+import java.util.List;
+
+public record EventCursorPageDTO(List<EventResponseDTO> events, String next) {
+}
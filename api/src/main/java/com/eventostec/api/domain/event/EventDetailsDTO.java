@@ -12,12 +12,18 @@ public record EventDetailsDTO(
         String city,
         String state,
         String imgUrl,
+        String imgCardUrl,
+        String imgThumbnailUrl,
         String eventUrl,
         List<CouponDTO> coupons) {
 
+    public EventDetailsDTO withCoupons(List<CouponDTO> coupons) {
+        return new EventDetailsDTO(id, title, description, date, city, state, imgUrl, imgCardUrl, imgThumbnailUrl, eventUrl, coupons);
+    }
+
     public record CouponDTO(
             String code,
             Integer discount,
             Date valid) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,13 @@
+package com.eventostec.api.domain.event;
+
+import com.eventostec.api.domain.coupon.CouponRequestDTO;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Evento exportado. Tem os mesmos campos de {@link EventImportRowDTO}, então o NDJSON exportado pode ser reimportado.
+ */
+public record EventExportDTO(UUID id, String title, String description, Long date, String city, String state, Boolean remote,
+                             String eventUrl, String imgUrl, List<CouponRequestDTO> coupons) {
+}
@@ -0,0 +1,13 @@
+package com.eventostec.api.domain.event;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Linha da consulta de exportação: evento + endereço, repetidos para cada cupom ativo (campos de cupom nulos
+ * quando não há nenhum).
+ */
+public record EventExportRow(UUID id, String title, String description, Date date, Boolean remote, String eventUrl, String imgUrl,
+                             String city, String state,
+                             String couponCode, Integer couponDiscount, Date couponValid, Integer couponMaxUses, Integer couponMaxUsesPerUser) {
+}
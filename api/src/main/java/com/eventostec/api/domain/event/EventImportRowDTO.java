@@ -0,0 +1,8 @@
+package com.eventostec.api.domain.event;
+
+import com.eventostec.api.domain.coupon.CouponRequestDTO;
+
+import java.util.List;
+
+public record EventImportRowDTO(String title, String description, Long date, String city, String state, Boolean remote, String eventUrl, String imgUrl, List<CouponRequestDTO> coupons) {
+}
@@ -0,0 +1,23 @@
+package com.eventostec.api.domain.event;
+
+import java.util.Date;
+import java.util.UUID;
+
+public record EventNearbyDTO(UUID id, String title, String description, Date date, String city, String state, String eventUrl,
+                             String imgUrl, String imgCardUrl, String imgThumbnailUrl, double distanceKm) {
+
+    public static EventNearbyDTO fromProjection(EventNearbyProjection event) {
+        return new EventNearbyDTO(
+                event.getId(),
+                event.getTitle(),
+                event.getDescription(),
+                event.getDate(),
+                event.getCity(),
+                event.getUf(),
+                event.getEventUrl(),
+                event.getImgUrl(),
+                event.getImgCardUrl() != null ? event.getImgCardUrl() : event.getImgUrl(),
+                event.getImgThumbnailUrl() != null ? event.getImgThumbnailUrl() : event.getImgUrl(),
+                Math.round(event.getDistance() / 10.0) / 100.0);
+    }
+}
@@ -0,0 +1,5 @@
+package com.eventostec.api.domain.event;
+
+public interface EventNearbyProjection extends EventAddressProjection {
+    Double getDistance();
+}
@@ -3,6 +3,21 @@ package com.eventostec.api.domain.event;
 import java.util.Date;
 import java.util.UUID;
 
-public record EventResponseDTO(UUID id, String title, String description, Date date, String city, String state, Boolean remote, String eventUrl, String imgUrl) {
+public record EventResponseDTO(UUID id, String title, String description, Date date, String city, String state, Boolean remote, String eventUrl, String imgUrl, String imgCardUrl, String imgThumbnailUrl) {
+
+    public static EventResponseDTO fromProjection(EventAddressProjection event) {
+        return new EventResponseDTO(
+                event.getId(),
+                event.getTitle(),
+                event.getDescription(),
+                event.getDate(),
+                event.getCity() != null ? event.getCity() : "",
+                event.getUf() != null ? event.getUf() : "",
+                event.getRemote(),
+                event.getEventUrl(),
+                event.getImgUrl(),
+                event.getImgCardUrl() != null ? event.getImgCardUrl() : event.getImgUrl(),
+                event.getImgThumbnailUrl() != null ? event.getImgThumbnailUrl() : event.getImgUrl());
+    }
 }
 
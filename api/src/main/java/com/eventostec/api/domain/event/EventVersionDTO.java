@@ -0,0 +1,20 @@
+package com.eventostec.api.domain.event;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Validadores HTTP do detalhe do evento. A versão cobre alterações no banco; a validade do último cupom
+ * já expirado cobre a saída de cupons da resposta, que acontece só com a passagem do tempo.
+ */
+public record EventVersionDTO(UUID eventId, Long version, Date updatedAt, Date lastCouponExpiry, Long couponChangeSeq) {
+
+    public String eTag() {
+        return "\"" + (version != null ? version : 0) + "-" + (lastCouponExpiry != null ? lastCouponExpiry.getTime() : 0) + "\"";
+    }
+
+    public long lastModified() {
+        long modified = updatedAt != null ? updatedAt.getTime() : -1;
+        return lastCouponExpiry != null ? Math.max(modified, lastCouponExpiry.getTime()) : modified;
+    }
+}
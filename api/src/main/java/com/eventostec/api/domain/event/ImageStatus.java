@@ -0,0 +1,8 @@
+package com.eventostec.api.domain.event;
+
+public enum ImageStatus {
+    NONE,
+    PENDING,
+    UPLOADED,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package com.eventostec.api.domain.event;
+
+import java.util.UUID;
+
+public record ImageStatusDTO(UUID eventId, ImageStatus status, String imgUrl) {
+}
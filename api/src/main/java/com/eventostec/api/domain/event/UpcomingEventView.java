@@ -0,0 +1,47 @@
+package com.eventostec.api.domain.event;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Linha do modelo de leitura de próximos eventos. Mantida pelas triggers da migração V9; a aplicação só lê e poda.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "upcoming_event_view")
+public class UpcomingEventView {
+    @Id
+    private UUID id;
+
+    private String title;
+    private String description;
+    private Date date;
+    private String imgUrl;
+    private String imgCardUrl;
+    private String imgThumbnailUrl;
+    private String eventUrl;
+    private Boolean remote;
+    private String city;
+    private String uf;
+
+    public UUID getId() { return id; }
+    public String getTitle() { return title; }
+    public String getDescription() { return description; }
+    public Date getDate() { return date; }
+    public String getImgUrl() { return imgUrl; }
+    public String getImgCardUrl() { return imgCardUrl; }
+    public String getImgThumbnailUrl() { return imgThumbnailUrl; }
+    public String getEventUrl() { return eventUrl; }
+    public Boolean getRemote() { return remote; }
+    public String getCity() { return city; }
+    public String getUf() { return uf; }
+}
@@ -0,0 +1,8 @@
+package com.eventostec.api.domain.image;
+
+public record EventImageUrls(String imgUrl, String cardUrl, String thumbnailUrl) {
+
+    public static EventImageUrls single(String url) {
+        return new EventImageUrls(url, url, url);
+    }
+}
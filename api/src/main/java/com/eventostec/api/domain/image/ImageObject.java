@@ -0,0 +1,41 @@
+package com.eventostec.api.domain.image;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.util.Date;
+
+@Entity
+@Table(name = "image_object")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImageObject {
+    @Id
+    @JdbcTypeCode(SqlTypes.CHAR)
+    @Column(length = 64)
+    private String contentHash;
+
+    private String imgUrl;
+    private String imgCardUrl;
+    private String imgThumbnailUrl;
+    private Long sizeBytes;
+    private Date createdAt;
+
+    public String getContentHash() { return contentHash; }
+    public String getImgUrl() { return imgUrl; }
+    public String getImgCardUrl() { return imgCardUrl; }
+    public String getImgThumbnailUrl() { return imgThumbnailUrl; }
+    public Long getSizeBytes() { return sizeBytes; }
+    public Date getCreatedAt() { return createdAt; }
+
+    public EventImageUrls toUrls() {
+        return new EventImageUrls(imgUrl, imgCardUrl, imgThumbnailUrl);
+    }
+}
@@ -0,0 +1,57 @@
+package com.eventostec.api.domain.image;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Date;
+import java.util.UUID;
+
+@Entity
+@Table(name = "image_upload_failure")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImageUploadFailure {
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Column(name = "event_id")
+    private UUID eventId;
+
+    private String objectKey;
+    private Integer attempts;
+    private String error;
+    private Date failedAt;
+
+    public UUID getId() { return id; }
+    public UUID getEventId() { return eventId; }
+    public String getObjectKey() { return objectKey; }
+    public Integer getAttempts() { return attempts; }
+    public String getError() { return error; }
+    public Date getFailedAt() { return failedAt; }
+
+    public void setEventId(UUID eventId) {
+        this.eventId = eventId;
+    }
+
+    public void setObjectKey(String objectKey) {
+        this.objectKey = objectKey;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public void setFailedAt(Date failedAt) {
+        this.failedAt = failedAt;
+    }
+}
@@ -0,0 +1,6 @@
+package com.eventostec.api.domain.image;
+
+import java.util.Date;
+
+public record ImageUploadUrlDTO(String key, String uploadUrl, String contentType, Date expiresAt) {
+}
@@ -0,0 +1,4 @@
+package com.eventostec.api.domain.image;
+
+public record ImageUploadUrlRequestDTO(String filename, String contentType) {
+}
@@ -0,0 +1,23 @@
+package com.eventostec.api.domain.image;
+
+public enum ImageVariant {
+    FULL("full", 2048),
+    CARD("card", 800),
+    THUMBNAIL("thumbnail", 320);
+
+    private final String suffix;
+    private final int maxWidth;
+
+    ImageVariant(String suffix, int maxWidth) {
+        this.suffix = suffix;
+        this.maxWidth = maxWidth;
+    }
+
+    public String getSuffix() {
+        return suffix;
+    }
+
+    public int getMaxWidth() {
+        return maxWidth;
+    }
+}
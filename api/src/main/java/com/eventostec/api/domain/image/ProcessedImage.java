@@ -0,0 +1,4 @@
+package com.eventostec.api.domain.image;
+
+public record ProcessedImage(ImageVariant variant, byte[] content, String contentType, String extension) {
+}
@@ -1,7 +1,12 @@
 package com.eventostec.api.repositories;
 
 import com.eventostec.api.domain.coupon.Coupon;
+import com.eventostec.api.domain.coupon.CouponLimitsDTO;
+import com.eventostec.api.domain.event.EventDetailsDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Date;
 import java.util.List;
@@ -9,5 +14,44 @@ import java.util.UUID;
 
 public interface CouponRepository extends JpaRepository<Coupon, UUID> {
 
-    List<Coupon> findByEventIdAndValidAfter(UUID eventId, Date currentDate);
+    @Query("SELECT new com.eventostec.api.domain.event.EventDetailsDTO$CouponDTO(c.code, c.discount, c.valid) " +
+            "FROM Coupon c WHERE c.event.id = :eventId AND c.valid > :currentDate")
+    List<EventDetailsDTO.CouponDTO> findValidCoupons(@Param("eventId") UUID eventId, @Param("currentDate") Date currentDate);
+
+    @Query("SELECT new com.eventostec.api.domain.coupon.CouponLimitsDTO(c.id, c.code, c.discount, c.maxUses, c.maxUsesPerUser) " +
+            "FROM Coupon c WHERE c.event.id = :eventId AND c.code = :code AND c.valid > :currentDate")
+    List<CouponLimitsDTO> findRedeemable(@Param("eventId") UUID eventId,
+                                         @Param("code") String code,
+                                         @Param("currentDate") Date currentDate);
+
+    @Modifying
+    @Query(value = "INSERT INTO coupon_user_usage (coupon_id, user_id, uses) VALUES (:couponId, :userId, 1) " +
+            "ON CONFLICT (coupon_id, user_id) DO UPDATE SET uses = coupon_user_usage.uses + 1 " +
+            "WHERE coupon_user_usage.uses < :maxUsesPerUser",
+            nativeQuery = true)
+    int incrementUserUsage(@Param("couponId") UUID couponId,
+                           @Param("userId") String userId,
+                           @Param("maxUsesPerUser") int maxUsesPerUser);
+
+    // Decrementa um slot com saldo que não esteja travado por outro resgate; 0 linhas = todos esgotados ou ocupados
+    @Modifying
+    @Query(value = "UPDATE coupon_usage_slot SET remaining = remaining - 1 " +
+            "WHERE coupon_id = :couponId AND remaining > 0 AND slot = (" +
+            "  SELECT slot FROM coupon_usage_slot WHERE coupon_id = :couponId AND remaining > 0 " +
+            "  ORDER BY random() LIMIT 1 FOR UPDATE SKIP LOCKED)",
+            nativeQuery = true)
+    int takeFreeUsageSlot(@Param("couponId") UUID couponId);
+
+    // Variante que espera pelo lock: usada quando todos os slots com saldo estavam ocupados
+    @Modifying
+    @Query(value = "UPDATE coupon_usage_slot SET remaining = remaining - 1 " +
+            "WHERE coupon_id = :couponId AND remaining > 0 AND slot = (" +
+            "  SELECT slot FROM coupon_usage_slot WHERE coupon_id = :couponId AND remaining > 0 " +
+            "  ORDER BY remaining DESC LIMIT 1 FOR UPDATE)",
+            nativeQuery = true)
+    int takeUsageSlot(@Param("couponId") UUID couponId);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM coupon_usage_slot WHERE coupon_id = :couponId AND remaining > 0)",
+            nativeQuery = true)
+    boolean hasRemainingUses(@Param("couponId") UUID couponId);
 }
@@ -2,23 +2,31 @@ package com.eventostec.api.repositories;
 
 import com.eventostec.api.domain.event.Event;
 import com.eventostec.api.domain.event.EventAddressProjection;
+import com.eventostec.api.domain.event.EventExportRow;
+import com.eventostec.api.domain.event.EventNearbyProjection;
+import com.eventostec.api.domain.event.EventVersionDTO;
+import com.eventostec.api.domain.event.ImageStatus;
+import com.eventostec.api.domain.event.ImageStatusDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface EventRepository extends JpaRepository<Event, UUID> {
-    @Query("SELECT e.id AS id, e.title AS title, e.description AS description, e.date AS date, e.imgUrl AS imgUrl, e.eventUrl AS eventUrl, e.remote AS remote, a.city AS city, a.uf AS uf " +
-            "FROM Event e LEFT JOIN Address a ON e.id = a.event.id " +
-            "WHERE e.date >= :currentDate")
-    public Page<EventAddressProjection> findUpcomingEvents(@Param("currentDate") Date currentDate, Pageable pageable);
-
-    @Query("SELECT e.id AS id, e.title AS title, e.description AS description, e.date AS date, e.imgUrl AS imgUrl, e.eventUrl AS eventUrl, e.remote AS remote, a.city AS city, a.uf AS uf " +
+    @Query("SELECT e.id AS id, e.title AS title, e.description AS description, e.date AS date, e.imgUrl AS imgUrl, e.imgCardUrl AS imgCardUrl, e.imgThumbnailUrl AS imgThumbnailUrl, e.eventUrl AS eventUrl, e.remote AS remote, a.city AS city, a.uf AS uf " +
             "FROM Event e JOIN Address a ON e.id = a.event.id " +
             "WHERE (:city = '' OR a.city LIKE %:city%) " +
             "AND (:uf = '' OR a.uf LIKE %:uf%) " +
@@ -29,8 +37,90 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
                                                     @Param("endDate") Date endDate,
                                                     Pageable pageable);
 
-    @Query("SELECT e.id AS id, e.title AS title, e.description AS description, e.date AS date, e.imgUrl AS imgUrl, e.eventUrl AS eventUrl, e.remote AS remote, a.city AS city, a.uf AS uf " +
+    @Query("SELECT e.id AS id, e.title AS title, e.description AS description, e.date AS date, e.imgUrl AS imgUrl, e.imgCardUrl AS imgCardUrl, e.imgThumbnailUrl AS imgThumbnailUrl, e.eventUrl AS eventUrl, e.remote AS remote, a.city AS city, a.uf AS uf " +
             "FROM Event e JOIN Address a ON e.id = a.event.id " +
             "WHERE (:title = '' OR e.title LIKE %:title%)")
     List<EventAddressProjection> findEventsByTitle(@Param("title") String title);
+
+    @Query("SELECT e.id AS id, e.title AS title, e.description AS description, e.date AS date, e.imgUrl AS imgUrl, e.imgCardUrl AS imgCardUrl, e.imgThumbnailUrl AS imgThumbnailUrl, e.eventUrl AS eventUrl, e.remote AS remote, a.city AS city, a.uf AS uf " +
+            "FROM Event e JOIN Address a ON e.id = a.event.id " +
+            "WHERE (:city = '' OR a.city LIKE %:city%) " +
+            "AND (:uf = '' OR a.uf LIKE %:uf%) " +
+            "AND (e.date >= :startDate AND e.date <= :endDate) " +
+            "AND (e.date > :lastDate OR (e.date = :lastDate AND e.id > :lastId)) " +
+            "ORDER BY e.date, e.id")
+    List<EventAddressProjection> findFilteredEventsAfter(@Param("city") String city,
+                                                         @Param("uf") String uf,
+                                                         @Param("startDate") Date startDate,
+                                                         @Param("endDate") Date endDate,
+                                                         @Param("lastDate") Date lastDate,
+                                                         @Param("lastId") UUID lastId,
+                                                         Limit limit);
+
+    @Query(value = "WITH term AS (SELECT f_unaccent(lower(:query)) AS value), " +
+            "matches AS (" +
+            "  SELECT e.id AS event_id, word_similarity(t.value, f_unaccent(lower(e.title))) AS score " +
+            "  FROM event e, term t WHERE t.value <% f_unaccent(lower(e.title)) " +
+            "  UNION ALL " +
+            "  SELECT a.event_id, word_similarity(t.value, f_unaccent(lower(a.city))) " +
+            "  FROM address a, term t WHERE t.value <% f_unaccent(lower(a.city))" +
+            "), " +
+            "ranked AS (SELECT event_id, max(score) AS score FROM matches GROUP BY event_id) " +
+            "SELECT e.id AS id, e.title AS title, e.description AS description, e.date AS date, e.img_url AS imgUrl, e.img_card_url AS imgCardUrl, e.img_thumbnail_url AS imgThumbnailUrl, " +
+            "e.event_url AS eventUrl, e.remote AS remote, a.city AS city, a.uf AS uf " +
+            "FROM ranked r JOIN event e ON e.id = r.event_id LEFT JOIN address a ON a.event_id = e.id " +
+            "ORDER BY r.score DESC, e.date DESC " +
+            "LIMIT :limit",
+            nativeQuery = true)
+    List<EventAddressProjection> searchEvents(@Param("query") String query, @Param("limit") int limit);
+
+    // earth_box restringe pelo índice GiST; o <-> sobre o mesmo índice devolve as linhas já em ordem de distância
+    @Query(value = "SELECT e.id AS id, e.title AS title, e.description AS description, e.date AS date, e.img_url AS imgUrl, " +
+            "e.img_card_url AS imgCardUrl, e.img_thumbnail_url AS imgThumbnailUrl, e.event_url AS eventUrl, e.remote AS remote, " +
+            "a.city AS city, a.uf AS uf, earth_distance(ll_to_earth(:latitude, :longitude), ll_to_earth(a.latitude, a.longitude)) AS distance " +
+            "FROM address a JOIN event e ON e.id = a.event_id " +
+            "WHERE a.latitude IS NOT NULL AND a.longitude IS NOT NULL " +
+            "AND earth_box(ll_to_earth(:latitude, :longitude), :radius) @> ll_to_earth(a.latitude, a.longitude) " +
+            "AND earth_distance(ll_to_earth(:latitude, :longitude), ll_to_earth(a.latitude, a.longitude)) <= :radius " +
+            "AND e.date >= :currentDate " +
+            "ORDER BY ll_to_earth(a.latitude, a.longitude) <-> ll_to_earth(:latitude, :longitude) " +
+            "LIMIT :limit",
+            nativeQuery = true)
+    List<EventNearbyProjection> findEventsNear(@Param("latitude") double latitude,
+                                               @Param("longitude") double longitude,
+                                               @Param("radius") double radiusMeters,
+                                               @Param("currentDate") Date currentDate,
+                                               @Param("limit") int limit);
+
+    @Query("SELECT e.id AS id, e.title AS title, e.description AS description, e.date AS date, e.imgUrl AS imgUrl, e.imgCardUrl AS imgCardUrl, e.imgThumbnailUrl AS imgThumbnailUrl, e.eventUrl AS eventUrl, e.remote AS remote, a.city AS city, a.uf AS uf " +
+            "FROM Event e LEFT JOIN Address a ON e.id = a.event.id " +
+            "WHERE e.id = :id")
+    Optional<EventAddressProjection> findWithAddressById(@Param("id") UUID id);
+
+    @Query("SELECT new com.eventostec.api.domain.event.ImageStatusDTO(e.id, e.imgStatus, e.imgUrl) FROM Event e WHERE e.id = :id")
+    Optional<ImageStatusDTO> findImageStatus(@Param("id") UUID id);
+
+    @Query("SELECT new com.eventostec.api.domain.event.EventVersionDTO(e.id, e.version, e.updatedAt, " +
+            "(SELECT MAX(c.valid) FROM Coupon c WHERE c.event.id = e.id AND c.valid <= :currentDate), " +
+            "(SELECT MAX(c.changeSeq) FROM Coupon c WHERE c.event.id = e.id)) " +
+            "FROM Event e WHERE e.id = :id")
+    Optional<EventVersionDTO> findVersion(@Param("id") UUID id, @Param("currentDate") Date currentDate);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT new com.eventostec.api.domain.event.EventExportRow(e.id, e.title, e.description, e.date, e.remote, e.eventUrl, e.imgUrl, " +
+            "a.city, a.uf, c.code, c.discount, c.valid, c.maxUses, c.maxUsesPerUser) " +
+            "FROM Event e LEFT JOIN Address a ON e.id = a.event.id " +
+            "LEFT JOIN Coupon c ON e.id = c.event.id AND c.valid > :currentDate " +
+            "ORDER BY e.id")
+    Stream<EventExportRow> streamForExport(@Param("currentDate") Date currentDate);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Event e SET e.imgUrl = :imgUrl, e.imgCardUrl = :imgCardUrl, e.imgThumbnailUrl = :imgThumbnailUrl, e.imgStatus = :imgStatus WHERE e.id = :id")
+    int updateImage(@Param("id") UUID id,
+                    @Param("imgUrl") String imgUrl,
+                    @Param("imgCardUrl") String imgCardUrl,
+                    @Param("imgThumbnailUrl") String imgThumbnailUrl,
+                    @Param("imgStatus") ImageStatus imgStatus);
 }
@@ -0,0 +1,23 @@
+package com.eventostec.api.repositories;
+
+import com.eventostec.api.domain.image.ImageObject;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface ImageObjectRepository extends JpaRepository<ImageObject, String> {
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO image_object (content_hash, img_url, img_card_url, img_thumbnail_url, size_bytes) " +
+            "VALUES (:contentHash, :imgUrl, :imgCardUrl, :imgThumbnailUrl, :sizeBytes) " +
+            "ON CONFLICT (content_hash) DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("contentHash") String contentHash,
+                       @Param("imgUrl") String imgUrl,
+                       @Param("imgCardUrl") String imgCardUrl,
+                       @Param("imgThumbnailUrl") String imgThumbnailUrl,
+                       @Param("sizeBytes") long sizeBytes);
+}
@@ -0,0 +1,12 @@
+package com.eventostec.api.repositories;
+
+import com.eventostec.api.domain.image.ImageUploadFailure;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ImageUploadFailureRepository extends JpaRepository<ImageUploadFailure, UUID> {
+
+    List<ImageUploadFailure> findByEventId(UUID eventId);
+}
@@ -0,0 +1,7 @@
+package com.eventostec.api.repositories;
+
+import com.eventostec.api.domain.change.OutboxChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface OutboxChangeRepository extends JpaRepository<OutboxChange, Long> {
+}
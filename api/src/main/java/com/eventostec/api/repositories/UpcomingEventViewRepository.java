@@ -0,0 +1,40 @@
+package com.eventostec.api.repositories;
+
+import com.eventostec.api.domain.event.EventAddressProjection;
+import com.eventostec.api.domain.event.UpcomingEventView;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+public interface UpcomingEventViewRepository extends JpaRepository<UpcomingEventView, UUID> {
+
+    // Retorna List em vez de Page: a listagem não precisa do total, então não há query de count
+    @Query("SELECT v.id AS id, v.title AS title, v.description AS description, v.date AS date, v.imgUrl AS imgUrl, v.imgCardUrl AS imgCardUrl, v.imgThumbnailUrl AS imgThumbnailUrl, v.eventUrl AS eventUrl, v.remote AS remote, v.city AS city, v.uf AS uf " +
+            "FROM UpcomingEventView v " +
+            "WHERE v.date >= :currentDate " +
+            "ORDER BY v.date, v.id")
+    List<EventAddressProjection> findUpcoming(@Param("currentDate") Date currentDate, Pageable pageable);
+
+    @Query("SELECT v.id AS id, v.title AS title, v.description AS description, v.date AS date, v.imgUrl AS imgUrl, v.imgCardUrl AS imgCardUrl, v.imgThumbnailUrl AS imgThumbnailUrl, v.eventUrl AS eventUrl, v.remote AS remote, v.city AS city, v.uf AS uf " +
+            "FROM UpcomingEventView v " +
+            "WHERE v.date >= :currentDate " +
+            "AND (v.date > :lastDate OR (v.date = :lastDate AND v.id > :lastId)) " +
+            "ORDER BY v.date, v.id")
+    List<EventAddressProjection> findUpcomingAfter(@Param("currentDate") Date currentDate,
+                                                   @Param("lastDate") Date lastDate,
+                                                   @Param("lastId") UUID lastId,
+                                                   Limit limit);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM UpcomingEventView v WHERE v.date < :cutoff")
+    int deleteByDateBefore(@Param("cutoff") Date cutoff);
+}
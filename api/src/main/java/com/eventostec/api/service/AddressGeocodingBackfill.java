@@ -0,0 +1,127 @@
+package com.eventostec.api.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Preenche as coordenadas dos endereços gravados antes da geocodificação, uma cidade por vez e em lotes
+ * pequenos para não segurar locks de milhares de linhas. Endereços de cidades fora da base ficam sem
+ * coordenadas, mas recebem geocoded_at e não são relidos nas próximas execuções.
+ *
+ * Desligado por padrão: ligue {@code events.geo.backfill.enabled} depois de uma migração ou de trocar a base de
+ * cidades. Roda fora da thread de inicialização e, no Postgres, só em um nó por vez (advisory lock).
+ */
+@Service
+public class AddressGeocodingBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(AddressGeocodingBackfill.class);
+
+    private static final long LOCK_KEY = "address-geocoding-backfill".hashCode();
+
+    private static final String SELECT_PENDING_CITIES =
+            "SELECT city, uf FROM address WHERE latitude IS NULL AND geocoded_at IS NULL GROUP BY city, uf";
+    private static final String UPDATE_BATCH = """
+            UPDATE address SET latitude = ?, longitude = ?, geocoded_at = ?
+            WHERE id IN (SELECT id FROM address WHERE city = ? AND uf = ? AND latitude IS NULL AND geocoded_at IS NULL LIMIT ?)
+            """;
+
+    @Value("${events.geo.backfill.enabled:false}")
+    private boolean enabled;
+
+    @Value("${events.geo.backfill.batch-size:5000}")
+    private int batchSize;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CityGeocoder cityGeocoder;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            Thread.ofVirtual().name("address-geocoding-backfill").start(this::backfill);
+        }
+    }
+
+    public void backfill() {
+        try {
+            // Lock de sessão na mesma conexão dos lotes: se o nó cair, o Postgres libera e outro nó pode retomar
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                boolean postgres = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+                if (postgres && !this.tryLock(connection)) {
+                    logger.info("Geocodificação de endereços já em andamento em outro nó");
+                    return null;
+                }
+                try {
+                    this.backfill(new JdbcTemplate(new SingleConnectionDataSource(connection, true)));
+                } finally {
+                    if (postgres) {
+                        this.unlock(connection);
+                    }
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            logger.error("Falha na geocodificação de endereços", e);
+        }
+    }
+
+    private void backfill(JdbcTemplate jdbcTemplate) {
+        long start = System.nanoTime();
+        long updated = 0;
+        long unknown = 0;
+
+        List<Map<String, Object>> pending = jdbcTemplate.queryForList(SELECT_PENDING_CITIES);
+        for (Map<String, Object> row : pending) {
+            String city = (String) row.get("city");
+            String uf = (String) row.get("uf");
+            CityGeocoder.Coordinates coordinates = cityGeocoder.locate(city, uf).orElse(null);
+            Double latitude = coordinates != null ? coordinates.latitude() : null;
+            Double longitude = coordinates != null ? coordinates.longitude() : null;
+            Timestamp geocodedAt = new Timestamp(System.currentTimeMillis());
+            int batch;
+            do {
+                batch = jdbcTemplate.update(UPDATE_BATCH, latitude, longitude, geocodedAt, city, uf, batchSize);
+                if (coordinates != null) {
+                    updated += batch;
+                } else {
+                    unknown += batch;
+                }
+            } while (batch == batchSize);
+        }
+
+        logger.info("Geocodificação de endereços: {} atualizados, {} de cidades fora da base, em {} ms",
+                updated, unknown, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private boolean tryLock(Connection connection) throws SQLException {
+        try (var statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            statement.setLong(1, LOCK_KEY);
+            try (var rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private void unlock(Connection connection) throws SQLException {
+        try (var statement = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+            statement.setLong(1, LOCK_KEY);
+            statement.execute();
+        }
+    }
+}
@@ -18,11 +18,18 @@ public class AddressService {
     @Autowired
     private AddressRepository addressRepository;
 
+    @Autowired
+    private CityGeocoder cityGeocoder;
+
     public void createAddress(EventRequestDTO data, Event event) {
         Address address = new Address();
         address.setCity(data.city());
         address.setUf(data.state());
         address.setEvent(event);
+        cityGeocoder.locate(data.city(), data.state()).ifPresent(coordinates -> {
+            address.setLatitude(coordinates.latitude());
+            address.setLongitude(coordinates.longitude());
+        });
         addressRepository.save(address);
     }
 
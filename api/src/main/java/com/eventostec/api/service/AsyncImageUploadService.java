@@ -0,0 +1,179 @@
+package com.eventostec.api.service;
+
+import com.eventostec.api.domain.event.ImageStatus;
+import com.eventostec.api.domain.image.EventImageUrls;
+import com.eventostec.api.domain.image.ImageUploadFailure;
+import com.eventostec.api.repositories.EventRepository;
+import com.eventostec.api.repositories.ImageUploadFailureRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.UUID;
+
+@Service
+public class AsyncImageUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncImageUploadService.class);
+
+    @Value("${events.upload.async.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${events.upload.async.initial-backoff-ms:500}")
+    private long initialBackoffMs;
+
+    @Autowired
+    @Qualifier("imageUploadExecutor")
+    private TaskExecutor executor;
+
+    @Autowired
+    private ImageStorageService imageStorageService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ImageUploadFailureRepository failureRepository;
+
+    @Autowired
+    private EventDetailsCache eventDetailsCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Copia a imagem para um arquivo temporário (o MultipartFile deixa de existir ao fim da requisição)
+     * e agenda o upload. Se houver transação ativa, o agendamento espera o commit do evento.
+     */
+    public void schedule(UUID eventId, MultipartFile image) throws IOException {
+        Path staged = Files.createTempFile("event-img-", null);
+        image.transferTo(staged);
+
+        StagedImage stagedImage = new StagedImage(eventId, staged,
+                image.getOriginalFilename() != null ? image.getOriginalFilename() : staged.getFileName().toString(),
+                image.getContentType());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        submit(stagedImage);
+                    } else {
+                        deleteQuietly(staged);
+                    }
+                }
+            });
+        } else {
+            submit(stagedImage);
+        }
+    }
+
+    private void submit(StagedImage stagedImage) {
+        try {
+            executor.execute(() -> this.upload(stagedImage));
+        } catch (RuntimeException e) {
+            // Recusado (aplicação encerrando): sem isso o evento ficaria PENDING e o arquivo no disco para sempre
+            this.deadLetter(stagedImage, e, 0);
+            deleteQuietly(stagedImage.path());
+        }
+    }
+
+    private void upload(StagedImage image) {
+        long backoff = initialBackoffMs;
+        Exception lastError = null;
+
+        try {
+            for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+                try {
+                    EventImageUrls urls = imageStorageService.uploadImage(image.filename(), new FileSystemResource(image.path()),
+                            Files.size(image.path()), image.contentType());
+                    eventRepository.updateImage(image.eventId(), urls.imgUrl(), urls.cardUrl(), urls.thumbnailUrl(), ImageStatus.UPLOADED);
+                    eventDetailsCache.invalidate(image.eventId());
+                    logger.debug("Imagem do evento {} enviada na tentativa {}", image.eventId(), attempt);
+                    return;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    lastError = e;
+                    break;
+                } catch (Exception e) {
+                    lastError = e;
+                    meterRegistry.counter("events.image.upload.retries").increment();
+                    logger.warn("Falha no upload da imagem do evento {} (tentativa {}/{}): {}",
+                            image.eventId(), attempt, maxAttempts, e.getMessage());
+                }
+
+                if (attempt < maxAttempts) {
+                    try {
+                        Thread.sleep(backoff);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                    backoff *= 2;
+                }
+            }
+
+            this.deadLetter(image, lastError, maxAttempts);
+        } finally {
+            deleteQuietly(image.path());
+        }
+    }
+
+    private void deadLetter(StagedImage image, Exception error, int attempts) {
+        logger.error("Upload da imagem do evento {} falhou definitivamente", image.eventId(), error);
+        meterRegistry.counter("events.image.upload.dead_letters").increment();
+        // Transação própria: chamado também no afterCompletion, quando a transação do evento já terminou
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            transaction.executeWithoutResult(status -> {
+                ImageUploadFailure failure = new ImageUploadFailure();
+                failure.setEventId(image.eventId());
+                failure.setObjectKey(image.filename());
+                failure.setAttempts(attempts);
+                failure.setError(error != null ? truncate(String.valueOf(error.getMessage()), 1000) : null);
+                failure.setFailedAt(new Date());
+                failureRepository.save(failure);
+                eventRepository.updateImage(image.eventId(), "default-image-url", "default-image-url", "default-image-url", ImageStatus.FAILED);
+            });
+            eventDetailsCache.invalidate(image.eventId());
+        } catch (Exception e) {
+            logger.error("Erro ao registrar falha de upload do evento {}: {}", image.eventId(), e.getMessage(), e);
+        }
+    }
+
+    private static String truncate(String value, int max) {
+        return value.length() <= max ? value : value.substring(0, max);
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Não foi possível remover o arquivo temporário {}: {}", path, e.getMessage());
+        }
+    }
+
+    private record StagedImage(UUID eventId, Path path, String filename, String contentType) {
+    }
+}
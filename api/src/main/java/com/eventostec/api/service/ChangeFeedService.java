@@ -0,0 +1,230 @@
+package com.eventostec.api.service;
+
+import com.eventostec.api.domain.change.ChangeEventDTO;
+import com.eventostec.api.domain.change.ChangeFeedPageDTO;
+import com.eventostec.api.domain.change.ChangeType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Leitura do feed de mudanças para consumidores externos, por long-poll ou SSE. O consumidor guarda a última
+ * posição recebida e retoma a partir dela; quem espera é acordado quando o relay avança a posição publicada.
+ * Cada consumidor SSE recebe as mudanças em ordem e sem duplicatas pela sua própria thread de envio; quem
+ * trava um envio por mais de {@code events.changes.sse-send-timeout} é desconectado e retoma pelo Last-Event-ID.
+ */
+@Service
+public class ChangeFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeedService.class);
+
+    private static final String SELECT_CHANGES =
+            "SELECT position, type, event_id, CAST(payload AS VARCHAR) AS payload, created_at FROM change_feed " +
+            "WHERE position > ? ORDER BY position LIMIT ?";
+    private static final String SELECT_OLDEST = "SELECT MIN(position) FROM change_feed";
+
+    @Value("${events.changes.max-batch-size:500}")
+    private int maxBatchSize;
+
+    @Value("${events.changes.sse-timeout:PT30M}")
+    private Duration sseTimeout;
+
+    @Value("${events.changes.sse-send-timeout:PT10S}")
+    private Duration sseSendTimeout;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicLong head = new AtomicLong();
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService dispatcher =
+            Executors.newSingleThreadExecutor(Thread.ofPlatform().name("change-feed").daemon().factory());
+    private final ExecutorService writers =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("change-feed-sse-", 0).factory());
+
+    /** Falso quando as mudanças seguintes a {@code after} já foram removidas pela retenção. */
+    public boolean isRetained(long after) {
+        Long oldest = jdbcTemplate.queryForObject(SELECT_OLDEST, Long.class);
+        return oldest != null ? after >= oldest - 1 : after >= head.get();
+    }
+
+    public List<ChangeEventDTO> read(long after, int limit) {
+        return jdbcTemplate.query(SELECT_CHANGES, (rs, rowNum) -> new ChangeEventDTO(
+                rs.getLong("position"),
+                ChangeType.valueOf(rs.getString("type")),
+                rs.getObject("event_id", UUID.class),
+                rs.getTimestamp("created_at"),
+                rs.getString("payload")), after, Math.min(limit, maxBatchSize));
+    }
+
+    public DeferredResult<ResponseEntity<ChangeFeedPageDTO>> poll(long after, int limit, Duration wait) {
+        DeferredResult<ResponseEntity<ChangeFeedPageDTO>> result =
+                new DeferredResult<>(wait.toMillis(), ResponseEntity.ok(new ChangeFeedPageDTO(List.of(), after)));
+
+        List<ChangeEventDTO> changes = this.read(after, limit);
+        if (!changes.isEmpty() || wait.isZero()) {
+            result.setResult(ResponseEntity.ok(page(changes, after)));
+            return result;
+        }
+
+        Waiter waiter = new Waiter(after, limit, result);
+        waiters.add(waiter);
+        result.onCompletion(() -> waiters.remove(waiter));
+        // Publicação entre a leitura acima e o registro do waiter: sem isso ele só acordaria na próxima mudança
+        if (head.get() > after) {
+            dispatcher.execute(this::dispatch);
+        }
+        return result;
+    }
+
+    public SseEmitter subscribe(long after) {
+        SseEmitter emitter = new SseEmitter(sseTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, after);
+        subscribers.add(subscriber);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        writers.execute(subscriber);
+        return emitter;
+    }
+
+    void advance(long position) {
+        if (head.getAndAccumulate(position, Math::max) < position) {
+            dispatcher.execute(this::dispatch);
+            subscribers.forEach(Subscriber::wake);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${events.changes.sse-heartbeat:PT15S}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        for (Subscriber subscriber : subscribers) {
+            long sendingSince = subscriber.sendingSince;
+            if (sendingSince != 0 && now - sendingSince > sseSendTimeout.toMillis()) {
+                logger.debug("Consumidor SSE lento descartado na posição {}", subscriber.position);
+                subscriber.close();
+                // completeWithError espera o envio travado liberar o emitter; não segura a thread do agendador
+                writers.execute(() -> subscriber.emitter.completeWithError(new IOException("SSE send timed out")));
+            } else {
+                subscriber.heartbeat = true;
+                subscriber.wake();
+            }
+        }
+    }
+
+    private void dispatch() {
+        long current = head.get();
+        // Quem espera costuma estar na mesma posição: uma leitura por posição em cada rodada
+        Map<Long, List<ChangeEventDTO>> reads = new HashMap<>();
+
+        for (Waiter waiter : waiters) {
+            if (waiter.after < current) {
+                List<ChangeEventDTO> changes = reads.computeIfAbsent(waiter.after, after -> this.read(after, maxBatchSize));
+                if (!changes.isEmpty()) {
+                    List<ChangeEventDTO> limited = changes.size() > waiter.limit ? changes.subList(0, waiter.limit) : changes;
+                    waiter.result.setResult(ResponseEntity.ok(page(limited, waiter.after)));
+                }
+            }
+        }
+    }
+
+    private static ChangeFeedPageDTO page(List<ChangeEventDTO> changes, long after) {
+        return new ChangeFeedPageDTO(changes, changes.isEmpty() ? after : changes.get(changes.size() - 1).position());
+    }
+
+    private record Waiter(long after, int limit, DeferredResult<ResponseEntity<ChangeFeedPageDTO>> result) {
+    }
+
+    /**
+     * Cada consumidor SSE tem sua própria thread de envio: um consumidor lento só atrasa a si mesmo. Os avisos
+     * de publicação se acumulam em uma fila de uma posição só, porque o envio sempre relê do feed a partir da
+     * posição do consumidor.
+     */
+    private final class Subscriber implements Runnable {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Boolean> wakeups = new ArrayBlockingQueue<>(1);
+        private volatile long position;
+        private volatile long sendingSince;
+        private volatile boolean heartbeat;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, long position) {
+            this.emitter = emitter;
+            this.position = position;
+        }
+
+        private void wake() {
+            wakeups.offer(Boolean.TRUE);
+        }
+
+        private void close() {
+            closed = true;
+            subscribers.remove(this);
+            this.wake();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!closed) {
+                    if (heartbeat) {
+                        heartbeat = false;
+                        // Comentário SSE: mantém a conexão viva em proxies que derrubam conexões ociosas
+                        this.send(SseEmitter.event().comment("keep-alive"));
+                    }
+                    List<ChangeEventDTO> changes;
+                    do {
+                        changes = read(position, maxBatchSize);
+                        for (ChangeEventDTO change : changes) {
+                            this.send(SseEmitter.event()
+                                    .id(String.valueOf(change.position()))
+                                    .name(change.type().name())
+                                    .data(change, MediaType.APPLICATION_JSON));
+                            position = change.position();
+                        }
+                    } while (changes.size() == maxBatchSize && !closed);
+                    wakeups.take();
+                }
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Consumidor SSE desconectado na posição {}: {}", position, e.getMessage());
+                this.close();
+                emitter.completeWithError(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            sendingSince = System.currentTimeMillis();
+            try {
+                emitter.send(event);
+            } finally {
+                sendingSince = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.eventostec.api.service;
+
+import com.eventostec.api.domain.change.ChangeType;
+import com.eventostec.api.domain.change.OutboxChange;
+import com.eventostec.api.repositories.OutboxChangeRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+public class ChangeOutboxService {
+
+    private static final String INSERT_CHANGE = "INSERT INTO change_outbox (type, event_id, payload, created_at) VALUES (?, ?, %s, ?)";
+
+    @Autowired
+    private OutboxChangeRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private volatile String insertChange;
+
+    // MANDATORY: a mudança só existe se a escrita que a originou comitar, e vice-versa
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(ChangeType type, UUID eventId, Object payload) {
+        repository.save(new OutboxChange(type, eventId, this.serialize(type, payload)));
+    }
+
+    /** Versão em lote para quem já escreve com {@code batchUpdate}, como o import. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(List<Change> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Object[]> rows = new ArrayList<>(changes.size());
+        for (Change change : changes) {
+            rows.add(new Object[]{change.type().name(), change.eventId(), this.serialize(change.type(), change.payload()), now});
+        }
+        jdbcTemplate.batchUpdate(this.insertChange(), rows);
+    }
+
+    private String serialize(ChangeType type, Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + type + " change", e);
+        }
+    }
+
+    private String insertChange() {
+        if (insertChange == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            // O H2 (testes e benchmarks) guarda texto como string JSON; só FORMAT JSON faz o parse
+            insertChange = INSERT_CHANGE.formatted("PostgreSQL".equals(product) ? "CAST(? AS jsonb)" : "? FORMAT JSON");
+        }
+        return insertChange;
+    }
+
+    public record Change(ChangeType type, UUID eventId, Object payload) {
+    }
+}
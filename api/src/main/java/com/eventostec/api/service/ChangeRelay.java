@@ -0,0 +1,94 @@
+package com.eventostec.api.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Publica o outbox no feed de mudanças. Todos os nós rodam o relay, mas só um publica por vez: a linha de
+ * change_feed_head é travada com SKIP LOCKED e quem não consegue o lock apenas acompanha a posição publicada
+ * para acordar os consumidores conectados a ele.
+ */
+@Service
+public class ChangeRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeRelay.class);
+
+    private static final String LOCK_HEAD = "SELECT position FROM change_feed_head WHERE id = 1 FOR UPDATE SKIP LOCKED";
+    private static final String MOVE_BATCH = """
+            WITH batch AS (
+                DELETE FROM change_outbox WHERE id IN (SELECT id FROM change_outbox ORDER BY id LIMIT ?)
+                RETURNING id, type, event_id, payload, created_at
+            )
+            INSERT INTO change_feed (position, type, event_id, payload, created_at)
+            SELECT ? + row_number() OVER (ORDER BY id), type, event_id, payload, created_at FROM batch
+            """;
+    private static final String ADVANCE_HEAD = "UPDATE change_feed_head SET position = position + ? WHERE id = 1";
+    private static final String SELECT_HEAD = "SELECT position FROM change_feed_head WHERE id = 1";
+    private static final String PRUNE = "DELETE FROM change_feed WHERE published_at < ?";
+
+    @Value("${events.changes.relay.enabled:true}")
+    private boolean enabled;
+
+    @Value("${events.changes.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${events.changes.retention:P7D}")
+    private Duration retention;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Scheduled(fixedDelayString = "${events.changes.relay.interval:PT0.5S}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        int published;
+        do {
+            published = transactionTemplate.execute(status -> this.publishBatch());
+        } while (published == batchSize);
+
+        changeFeedService.advance(jdbcTemplate.queryForObject(SELECT_HEAD, Long.class));
+    }
+
+    private int publishBatch() {
+        List<Long> head = jdbcTemplate.queryForList(LOCK_HEAD, Long.class);
+        if (head.isEmpty()) {
+            return 0;
+        }
+        int moved = jdbcTemplate.update(MOVE_BATCH, batchSize, head.get(0));
+        if (moved > 0) {
+            jdbcTemplate.update(ADVANCE_HEAD, moved);
+            logger.debug("{} mudanças publicadas a partir da posição {}", moved, head.get(0) + 1);
+        }
+        return moved;
+    }
+
+    @Scheduled(fixedDelayString = "${events.changes.prune-interval:PT1H}")
+    public void prune() {
+        if (!enabled) {
+            return;
+        }
+        int removed = jdbcTemplate.update(PRUNE, Timestamp.from(Instant.now().minus(retention)));
+        if (removed > 0) {
+            logger.info("{} mudanças antigas removidas do feed", removed);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.eventostec.api.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Geocodificação offline por cidade: as coordenadas vêm de um CSV empacotado na aplicação ({@code uf,city,latitude,longitude}),
+ * sem chamada de rede na criação do evento. A precisão é a do centro do município.
+ */
+@Component
+public class CityGeocoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(CityGeocoder.class);
+
+    private final Map<String, Coordinates> cities = new HashMap<>();
+
+    public CityGeocoder(@Value("${events.geo.cities:classpath:geo/br-cities.csv}") Resource dataset) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(dataset.getInputStream(), StandardCharsets.UTF_8))) {
+            reader.readLine();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                List<String> values = EventImportService.parseCsvLine(line);
+                cities.put(key(values.get(1), values.get(0)),
+                        new Coordinates(Double.parseDouble(values.get(2)), Double.parseDouble(values.get(3))));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read city dataset " + dataset, e);
+        }
+        logger.info("Base de cidades carregada: {} municípios", cities.size());
+    }
+
+    public Optional<Coordinates> locate(String city, String uf) {
+        if (city == null || uf == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cities.get(key(city, uf)));
+    }
+
+    static String key(String city, String uf) {
+        String normalized = Normalizer.normalize(city.trim(), Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return normalized.toLowerCase(Locale.ROOT) + "|" + uf.trim().toUpperCase(Locale.ROOT);
+    }
+
+    public record Coordinates(double latitude, double longitude) {
+    }
+}
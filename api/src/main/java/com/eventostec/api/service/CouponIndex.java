@@ -0,0 +1,496 @@
+package com.eventostec.api.service;
+
+import com.eventostec.api.domain.event.EventDetailsDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Índice em memória dos cupons ainda válidos por evento. Cada evento guarda seus cupons em arrays paralelos
+ * ordenados pela validade; a expiração é disparada por uma roda de tempo com uma entrada por evento.
+ * Outros nós publicam mudanças pela coluna coupon.change_seq, consultada periodicamente. A sequência é atribuída
+ * antes do commit, então um número menor pode aparecer depois de um maior: cada intervalo de números pulados fica
+ * pendente e é relido a cada consulta até aparecer ou até passar {@code gap-timeout} (rollback, ou a linha ganhou
+ * outro número em um UPDATE na mesma transação).
+ */
+@Component
+public class CouponIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CouponIndex.class);
+
+    private static final String SELECT_MAX_CHANGE_SEQ = "SELECT COALESCE(MAX(change_seq), 0) FROM coupon";
+    private static final String SELECT_ACTIVE =
+            "SELECT id, code, discount, valid, event_id FROM coupon WHERE event_id IS NOT NULL AND valid > ?";
+    private static final String SELECT_CHANGES =
+            "SELECT id, code, discount, valid, event_id, change_seq FROM coupon WHERE change_seq > ? ORDER BY change_seq LIMIT ?";
+    private static final String SELECT_SEEN = "SELECT change_seq FROM coupon WHERE change_seq <= ? ORDER BY change_seq";
+    private static final String SELECT_GAPS =
+            "SELECT c.id, c.code, c.discount, c.valid, c.event_id, c.change_seq FROM coupon c " +
+            "JOIN unnest(?, ?) AS g(first_seq, last_seq) ON c.change_seq BETWEEN g.first_seq AND g.last_seq " +
+            "ORDER BY c.change_seq";
+
+    private final ConcurrentHashMap<UUID, EventCoupons> coupons = new ConcurrentHashMap<>();
+    private final AtomicLong size = new AtomicLong();
+    private final TimerWheel wheel;
+    private final ScheduledExecutorService ticker;
+
+    private final boolean enabled;
+    private final long maxCoupons;
+    private final int pollBatchSize;
+    private final long gapTimeoutMillis;
+    private final int maxGaps;
+    // Primeiro change_seq do intervalo pendente -> fim do intervalo e instante em que foi visto; só a carga e o
+    // pollChanges escrevem, e nunca ao mesmo tempo
+    private final ConcurrentSkipListMap<Long, Gap> gaps = new ConcurrentSkipListMap<>();
+
+    private volatile boolean ready;
+    private volatile boolean complete = true;
+    private volatile long lastChangeSeq;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    public CouponIndex(@Value("${events.coupons.index.enabled:true}") boolean enabled,
+                       @Value("${events.coupons.index.max-coupons:1000000}") long maxCoupons,
+                       @Value("${events.coupons.index.tick:PT1S}") Duration tick,
+                       @Value("${events.coupons.index.poll-batch-size:1000}") int pollBatchSize,
+                       @Value("${events.coupons.index.gap-timeout:PT1M}") Duration gapTimeout,
+                       @Value("${events.coupons.index.max-gaps:100000}") int maxGaps,
+                       MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxCoupons = maxCoupons;
+        this.pollBatchSize = pollBatchSize;
+        this.gapTimeoutMillis = gapTimeout.toMillis();
+        this.maxGaps = maxGaps;
+        this.wheel = new TimerWheel(tick.toMillis(), 4096, System.currentTimeMillis());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("coupon-expiry").daemon().factory());
+        this.ticker.scheduleAtFixedRate(this::expireDue, tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+
+        Gauge.builder("events.coupons.index.size", size, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("events.coupons.index.events", coupons, ConcurrentHashMap::size).register(meterRegistry);
+        Gauge.builder("events.coupons.index.gaps", gaps, ConcurrentSkipListMap::size).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        ready = false;
+        coupons.clear();
+        size.set(0);
+        gaps.clear();
+        complete = true;
+
+        // Marca d'água, números comitados e cupons ativos saem do mesmo snapshot: todo número até a marca que não
+        // está nele é de uma transação ainda aberta (ou desfeita) e fica pendente, por mais antigo que seja
+        long seenAt = System.currentTimeMillis();
+        TransactionTemplate snapshot = new TransactionTemplate(transactionManager);
+        snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        long watermark = snapshot.execute(status -> {
+            long max = jdbcTemplate.queryForObject(SELECT_MAX_CHANGE_SEQ, Long.class);
+            long[] previous = {0};
+            jdbcTemplate.query(con -> {
+                var statement = con.prepareStatement(SELECT_SEEN);
+                statement.setFetchSize(10_000);
+                statement.setLong(1, max);
+                return statement;
+            }, (ResultSet rs) -> {
+                long changeSeq = rs.getLong("change_seq");
+                this.addGap(previous[0] + 1, changeSeq - 1, seenAt);
+                previous[0] = changeSeq;
+            });
+            jdbcTemplate.query(con -> {
+                var statement = con.prepareStatement(SELECT_ACTIVE);
+                statement.setFetchSize(1000);
+                statement.setTimestamp(1, new Timestamp(System.currentTimeMillis()));
+                return statement;
+            }, (ResultSet rs) -> {
+                this.put(rs.getObject("event_id", UUID.class), rs.getObject("id", UUID.class),
+                        rs.getString("code"), rs.getInt("discount"), rs.getTimestamp("valid").getTime());
+            });
+            return max;
+        });
+        lastChangeSeq = watermark;
+
+        if (gaps.size() > maxGaps) {
+            // Sem como acompanhar todos os pendentes o índice não é confiável: fica vazio e os eventos consultam o banco
+            logger.error("Índice de cupons desativado: {} intervalos de change_seq pendentes na carga (limite {})", gaps.size(), maxGaps);
+            complete = false;
+            coupons.clear();
+            size.set(0);
+            gaps.clear();
+        }
+        ready = true;
+        logger.info("Índice de cupons carregado: {} cupons de {} eventos e {} intervalos pendentes em {} ms{}", size.get(), coupons.size(),
+                gaps.size(), (System.nanoTime() - start) / 1_000_000, complete ? "" : " (limite atingido, parte dos eventos consulta o banco)");
+    }
+
+    @Scheduled(fixedDelayString = "${events.coupons.index.poll-interval:PT2S}")
+    public void pollChanges() {
+        if (!ready) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (!gaps.isEmpty()) {
+            this.pollGaps(now);
+        }
+
+        long[] max = {lastChangeSeq};
+        jdbcTemplate.query(SELECT_CHANGES, (ResultSet rs) -> {
+            long changeSeq = rs.getLong("change_seq");
+            this.addGap(max[0] + 1, changeSeq - 1, now);
+            max[0] = changeSeq;
+            this.applyChange(rs);
+        }, lastChangeSeq, pollBatchSize);
+        lastChangeSeq = max[0];
+
+        if (gaps.size() > maxGaps) {
+            // Descartar pendentes perderia mudanças em silêncio; recarregar parte de um snapshot novo
+            logger.warn("Índice de cupons com mais de {} intervalos de change_seq pendentes; recarregando", maxGaps);
+            this.load();
+        }
+    }
+
+    private void pollGaps(long now) {
+        gaps.values().removeIf(gap -> now - gap.seenAt() > gapTimeoutMillis);
+        if (gaps.isEmpty()) {
+            return;
+        }
+        Object[] firsts = gaps.keySet().toArray();
+        Object[] lasts = gaps.values().stream().map(Gap::last).toArray();
+        jdbcTemplate.query(SELECT_GAPS, statement -> {
+            statement.setArray(1, statement.getConnection().createArrayOf("bigint", firsts));
+            statement.setArray(2, statement.getConnection().createArrayOf("bigint", lasts));
+        }, (ResultSet rs) -> {
+            this.applyChange(rs);
+            this.fillGap(rs.getLong("change_seq"));
+        });
+    }
+
+    private void addGap(long first, long last, long seenAt) {
+        if (first <= last) {
+            gaps.put(first, new Gap(last, seenAt));
+        }
+    }
+
+    // Divide o intervalo que contém o número aplicado; a parte de cima entra antes de a de baixo encolher, então
+    // hasApplied nunca enxerga um buraco a menos do que existe
+    private void fillGap(long changeSeq) {
+        Map.Entry<Long, Gap> entry = gaps.floorEntry(changeSeq);
+        if (entry == null || entry.getValue().last() < changeSeq) {
+            return;
+        }
+        Gap gap = entry.getValue();
+        this.addGap(changeSeq + 1, gap.last(), gap.seenAt());
+        if (entry.getKey() < changeSeq) {
+            gaps.put(entry.getKey(), new Gap(changeSeq - 1, gap.seenAt()));
+        } else {
+            gaps.remove(entry.getKey());
+        }
+    }
+
+    private void applyChange(ResultSet rs) throws SQLException {
+        UUID eventId = rs.getObject("event_id", UUID.class);
+        if (eventId != null) {
+            this.put(eventId, rs.getObject("id", UUID.class), rs.getString("code"), rs.getInt("discount"),
+                    rs.getTimestamp("valid").getTime());
+        }
+    }
+
+    /**
+     * Cupons válidos do evento, ou vazio quando o índice não é autoritativo para ele (desabilitado, ainda carregando
+     * ou evento descartado pelo limite de memória) e o chamador deve consultar o banco.
+     */
+    public Optional<List<EventDetailsDTO.CouponDTO>> find(UUID eventId, Date currentDate) {
+        if (!enabled || !ready) {
+            return Optional.empty();
+        }
+        EventCoupons entry = coupons.get(eventId);
+        if (entry != null) {
+            return Optional.of(entry.validAfter(currentDate.getTime()));
+        }
+        return complete ? Optional.of(List.of()) : Optional.empty();
+    }
+
+    public void put(UUID eventId, UUID couponId, String code, int discount, long valid) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        coupons.compute(eventId, (id, current) -> {
+            if (current == null && !complete) {
+                // Sem garantia de conhecer todos os cupons do evento: fica de fora e o evento consulta o banco
+                return null;
+            }
+            EventCoupons base = current != null ? current : EventCoupons.EMPTY;
+            EventCoupons updated = valid > now
+                    ? base.with(couponId, code, discount, valid)
+                    : base.without(couponId);
+            long delta = updated.count() - base.count();
+
+            if (delta > 0 && size.get() + delta > maxCoupons) {
+                if (complete) {
+                    logger.warn("Índice de cupons atingiu o limite de {} cupons; novos eventos passam a consultar o banco", maxCoupons);
+                }
+                complete = false;
+                size.addAndGet(-base.count());
+                return null;
+            }
+            size.addAndGet(delta);
+            return this.scheduleExpiry(id, updated);
+        });
+    }
+
+    private EventCoupons scheduleExpiry(UUID eventId, EventCoupons entry) {
+        if (entry.count() == 0) {
+            return null;
+        }
+        long earliest = entry.earliestValid();
+        if (earliest < entry.scheduledDeadline()) {
+            wheel.schedule(eventId, earliest);
+            return entry.withScheduledDeadline(earliest);
+        }
+        return entry;
+    }
+
+    private void expireDue() {
+        try {
+            long now = System.currentTimeMillis();
+            for (TimerWheel.Entry due : wheel.advance(now)) {
+                coupons.computeIfPresent(due.eventId(), (id, current) -> {
+                    if (current.scheduledDeadline() != due.deadline()) {
+                        return current;
+                    }
+                    EventCoupons pruned = current.withoutExpired(now).withScheduledDeadline(Long.MAX_VALUE);
+                    size.addAndGet(pruned.count() - current.count());
+                    return this.scheduleExpiry(id, pruned);
+                });
+            }
+        } catch (RuntimeException e) {
+            logger.error("Erro ao expirar cupons do índice: {}", e.getMessage(), e);
+        }
+    }
+
+    /** Maior change_seq já visto no feed de mudanças; números abaixo dele ainda podem estar pendentes. */
+    public long lastChangeSeq() {
+        return lastChangeSeq;
+    }
+
+    /** Se todas as mudanças até {@code changeSeq} já foram aplicadas, sem nenhum número pendente abaixo dele. */
+    public boolean hasApplied(long changeSeq) {
+        Map.Entry<Long, Gap> firstGap = gaps.firstEntry();
+        return changeSeq <= lastChangeSeq && (firstGap == null || firstGap.getKey() > changeSeq);
+    }
+
+    private record Gap(long last, long seenAt) {
+    }
+
+    public long size() {
+        return size.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    /**
+     * Cupons de um evento em arrays paralelos ordenados por validade. Imutável: cada alteração gera uma cópia.
+     */
+    private record EventCoupons(long[] ids, String[] codes, int[] discounts, long[] valid, long scheduledDeadline) {
+
+        static final EventCoupons EMPTY = new EventCoupons(new long[0], new String[0], new int[0], new long[0], Long.MAX_VALUE);
+
+        int count() {
+            return valid.length;
+        }
+
+        long earliestValid() {
+            return valid[0];
+        }
+
+        EventCoupons withScheduledDeadline(long deadline) {
+            return new EventCoupons(ids, codes, discounts, valid, deadline);
+        }
+
+        EventCoupons with(UUID couponId, String code, int discount, long validAt) {
+            EventCoupons base = this.without(couponId);
+            int n = base.count();
+            int position = insertionPoint(base.valid, validAt);
+
+            long[] newIds = new long[(n + 1) * 2];
+            String[] newCodes = new String[n + 1];
+            int[] newDiscounts = new int[n + 1];
+            long[] newValid = new long[n + 1];
+
+            System.arraycopy(base.ids, 0, newIds, 0, position * 2);
+            System.arraycopy(base.codes, 0, newCodes, 0, position);
+            System.arraycopy(base.discounts, 0, newDiscounts, 0, position);
+            System.arraycopy(base.valid, 0, newValid, 0, position);
+
+            newIds[position * 2] = couponId.getMostSignificantBits();
+            newIds[position * 2 + 1] = couponId.getLeastSignificantBits();
+            newCodes[position] = code;
+            newDiscounts[position] = discount;
+            newValid[position] = validAt;
+
+            System.arraycopy(base.ids, position * 2, newIds, (position + 1) * 2, (n - position) * 2);
+            System.arraycopy(base.codes, position, newCodes, position + 1, n - position);
+            System.arraycopy(base.discounts, position, newDiscounts, position + 1, n - position);
+            System.arraycopy(base.valid, position, newValid, position + 1, n - position);
+            return new EventCoupons(newIds, newCodes, newDiscounts, newValid, scheduledDeadline);
+        }
+
+        EventCoupons without(UUID couponId) {
+            int index = this.indexOf(couponId);
+            if (index < 0) {
+                return this;
+            }
+            int n = count();
+            long[] newIds = new long[(n - 1) * 2];
+            String[] newCodes = new String[n - 1];
+            int[] newDiscounts = new int[n - 1];
+            long[] newValid = new long[n - 1];
+
+            System.arraycopy(ids, 0, newIds, 0, index * 2);
+            System.arraycopy(codes, 0, newCodes, 0, index);
+            System.arraycopy(discounts, 0, newDiscounts, 0, index);
+            System.arraycopy(valid, 0, newValid, 0, index);
+
+            System.arraycopy(ids, (index + 1) * 2, newIds, index * 2, (n - index - 1) * 2);
+            System.arraycopy(codes, index + 1, newCodes, index, n - index - 1);
+            System.arraycopy(discounts, index + 1, newDiscounts, index, n - index - 1);
+            System.arraycopy(valid, index + 1, newValid, index, n - index - 1);
+            return new EventCoupons(newIds, newCodes, newDiscounts, newValid, scheduledDeadline);
+        }
+
+        /** Remove o prefixo já expirado; como os arrays estão ordenados, basta uma busca binária. */
+        EventCoupons withoutExpired(long now) {
+            int from = insertionPoint(valid, now + 1);
+            if (from == 0) {
+                return this;
+            }
+            return new EventCoupons(Arrays.copyOfRange(ids, from * 2, ids.length), Arrays.copyOfRange(codes, from, codes.length),
+                    Arrays.copyOfRange(discounts, from, discounts.length), Arrays.copyOfRange(valid, from, valid.length),
+                    scheduledDeadline);
+        }
+
+        List<EventDetailsDTO.CouponDTO> validAfter(long now) {
+            int from = insertionPoint(valid, now + 1);
+            List<EventDetailsDTO.CouponDTO> result = new ArrayList<>(count() - from);
+            for (int i = from; i < count(); i++) {
+                result.add(new EventDetailsDTO.CouponDTO(codes[i], discounts[i], new Date(valid[i])));
+            }
+            return result;
+        }
+
+        private int indexOf(UUID couponId) {
+            long msb = couponId.getMostSignificantBits();
+            long lsb = couponId.getLeastSignificantBits();
+            for (int i = 0; i < count(); i++) {
+                if (ids[i * 2] == msb && ids[i * 2 + 1] == lsb) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /** Primeira posição cuja validade é >= value. */
+        private static int insertionPoint(long[] sorted, long value) {
+            int low = 0;
+            int high = sorted.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (sorted[mid] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Roda de tempo com hash: cada slot cobre um tick e guarda as entradas cujo prazo cai nele (em qualquer volta).
+     * Avançar a roda só visita os slots dos ticks que passaram.
+     */
+    static final class TimerWheel {
+
+        record Entry(UUID eventId, long deadline) {
+        }
+
+        private final long tickMillis;
+        private final List<List<Entry>> slots;
+        private long currentTick;
+
+        TimerWheel(long tickMillis, int slotCount, long now) {
+            this.tickMillis = tickMillis;
+            this.slots = new ArrayList<>(slotCount);
+            for (int i = 0; i < slotCount; i++) {
+                slots.add(new ArrayList<>());
+            }
+            this.currentTick = now / tickMillis;
+        }
+
+        synchronized void schedule(UUID eventId, long deadline) {
+            long tick = Math.max(deadline / tickMillis, currentTick);
+            slots.get((int) (tick % slots.size())).add(new Entry(eventId, deadline));
+        }
+
+        /** Remove e devolve as entradas dos ticks já encerrados até {@code now}. */
+        synchronized List<Entry> advance(long now) {
+            List<Entry> due = new ArrayList<>();
+            long lastClosedTick = now / tickMillis - 1;
+            while (currentTick <= lastClosedTick) {
+                long tickEnd = (currentTick + 1) * tickMillis;
+                Iterator<Entry> iterator = slots.get((int) (currentTick % slots.size())).iterator();
+                while (iterator.hasNext()) {
+                    Entry entry = iterator.next();
+                    if (entry.deadline() < tickEnd) {
+                        due.add(entry);
+                        iterator.remove();
+                    }
+                }
+                currentTick++;
+            }
+            return due;
+        }
+    }
+}
@@ -1,41 +1,138 @@
 package com.eventostec.api.service;
 
+import com.eventostec.api.domain.change.ChangeType;
 import com.eventostec.api.domain.coupon.Coupon;
+import com.eventostec.api.domain.coupon.CouponChangeDTO;
+import com.eventostec.api.domain.coupon.CouponLimitsDTO;
+import com.eventostec.api.domain.coupon.CouponRedeemRequestDTO;
+import com.eventostec.api.domain.coupon.CouponRedemptionDTO;
+import com.eventostec.api.domain.coupon.CouponRedemptionStatus;
 import com.eventostec.api.domain.coupon.CouponRequestDTO;
 import com.eventostec.api.domain.event.Event;
+import com.eventostec.api.domain.event.EventDetailsDTO;
 import com.eventostec.api.repositories.CouponRepository;
 import com.eventostec.api.repositories.EventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class CouponService {
 
+    private static final int FREE_SLOT_ATTEMPTS = 3;
+
     @Autowired
     private CouponRepository couponRepository;
 
+    @Autowired
     private EventRepository eventRepository;
 
+    @Autowired
+    private CouponIndex couponIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ChangeOutboxService changeOutboxService;
+
     public Coupon addCouponToEvent(UUID eventId, CouponRequestDTO couponData) {
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new IllegalArgumentException("Event not found"));
+        if ((couponData.maxUses() != null && couponData.maxUses() <= 0)
+                || (couponData.maxUsesPerUser() != null && couponData.maxUsesPerUser() <= 0)) {
+            throw new IllegalArgumentException("maxUses and maxUsesPerUser must be positive");
+        }
+
+        // Cupom e registro no outbox na mesma transação; o índice em memória só vê cupons já comitados
+        Coupon savedCoupon = transactionTemplate.execute(transaction -> {
+            Event event = eventRepository.findById(eventId)
+                    .orElseThrow(() -> new IllegalArgumentException("Event not found"));
+
+            Coupon coupon = new Coupon();
+            coupon.setCode(couponData.code());
+            coupon.setDiscount(couponData.discount());
+            coupon.setValid(new Date(couponData.valid()));
+            coupon.setMaxUses(couponData.maxUses());
+            coupon.setMaxUsesPerUser(couponData.maxUsesPerUser());
+            coupon.setEvent(event);
+
+            Coupon saved = couponRepository.save(coupon);
+            changeOutboxService.record(ChangeType.COUPON_CREATED, eventId, CouponChangeDTO.fromCoupon(eventId, saved));
+            return saved;
+        });
+        couponIndex.put(eventId, savedCoupon.getId(), savedCoupon.getCode(), savedCoupon.getDiscount(), savedCoupon.getValid().getTime());
+        return savedCoupon;
+    }
+
+    public List<EventDetailsDTO.CouponDTO> consultCoupons(UUID eventId, Date currentDate) {
+        return this.consultCoupons(eventId, currentDate, 0);
+    }
+
+    /**
+     * Como {@link #consultCoupons(UUID, Date)}, mas só usa o índice se ele já aplicou o feed até
+     * {@code minChangeSeq}; do contrário lê do banco para não devolver cupons mais antigos que o ETag.
+     */
+    public List<EventDetailsDTO.CouponDTO> consultCoupons(UUID eventId, Date currentDate, long minChangeSeq) {
+        Optional<List<EventDetailsDTO.CouponDTO>> indexed = couponIndex.hasApplied(minChangeSeq)
+                ? couponIndex.find(eventId, currentDate)
+                : Optional.empty();
+        return indexed
+                .orElseGet(() -> couponRepository.findValidCoupons(eventId, currentDate));
+    }
+
+    /**
+     * Resgata um cupom respeitando os limites total e por usuário. O limite por usuário é um upsert condicional
+     * e o total é decrementado em um dos slots do cupom; se o total estiver esgotado a transação é desfeita
+     * e o uso do usuário não é contabilizado.
+     */
+    public CouponRedemptionDTO redeem(UUID eventId, CouponRedeemRequestDTO request) {
+        CouponLimitsDTO coupon = couponRepository.findRedeemable(eventId, request.code(), new Date()).stream()
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Coupon not found"));
+        if (coupon.maxUsesPerUser() != null && (request.userId() == null || request.userId().isBlank())) {
+            throw new IllegalArgumentException("userId is required for this coupon");
+        }
 
-        Coupon coupon = new Coupon();
-        coupon.setCode(couponData.code());
-        coupon.setDiscount(couponData.discount());
-        coupon.setValid(new Date(couponData.valid()));
-        coupon.setEvent(event);
+        CouponRedemptionStatus status = transactionTemplate.execute(transaction -> {
+            if (coupon.maxUsesPerUser() != null
+                    && couponRepository.incrementUserUsage(coupon.id(), request.userId(), coupon.maxUsesPerUser()) == 0) {
+                return CouponRedemptionStatus.USER_LIMIT_REACHED;
+            }
+            if (coupon.maxUses() != null && !this.takeUsage(coupon.id())) {
+                transaction.setRollbackOnly();
+                return CouponRedemptionStatus.SOLD_OUT;
+            }
+            return CouponRedemptionStatus.REDEEMED;
+        });
 
-        return couponRepository.save(coupon);
+        meterRegistry.counter("events.coupons.redemptions", "status", status.name()).increment();
+        return new CouponRedemptionDTO(coupon.code(), coupon.discount(), status);
     }
 
-    public List<Coupon> consultCoupons(UUID eventId, Date currentDate) {
-        return couponRepository.findByEventIdAndValidAfter(eventId, currentDate);
+    private boolean takeUsage(UUID couponId) {
+        while (true) {
+            for (int attempt = 0; attempt < FREE_SLOT_ATTEMPTS; attempt++) {
+                if (couponRepository.takeFreeUsageSlot(couponId) > 0) {
+                    return true;
+                }
+            }
+            // Todos os slots com saldo estavam travados: espera por um deles antes de concluir que esgotou
+            if (couponRepository.takeUsageSlot(couponId) > 0) {
+                return true;
+            }
+            if (!couponRepository.hasRemainingUses(couponId)) {
+                return false;
+            }
+        }
     }
 }
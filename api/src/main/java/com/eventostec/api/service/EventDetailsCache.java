@@ -0,0 +1,51 @@
+package com.eventostec.api.service;
+
+import com.eventostec.api.domain.event.EventDetailsDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+@Component
+public class EventDetailsCache {
+
+    private final Cache<UUID, VersionedDetails> cache;
+
+    public EventDetailsCache(@Value("${events.cache.details.max-size:10000}") long maxSize,
+                             @Value("${events.cache.details.ttl:PT5M}") Duration ttl,
+                             MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "eventDetails");
+    }
+
+    /**
+     * Entrada em cache, ou recarregada quando é anterior à versão pedida (alteração feita por outro nó).
+     * A versão é lida antes da carga, então o conteúdo guardado é sempre igual ou mais novo que ela.
+     */
+    public EventDetailsDTO get(UUID eventId, long version, Function<UUID, EventDetailsDTO> loader) {
+        VersionedDetails cached = cache.getIfPresent(eventId);
+        if (cached != null && cached.version() >= version) {
+            return cached.details();
+        }
+        EventDetailsDTO details = loader.apply(eventId);
+        cache.put(eventId, new VersionedDetails(version, details));
+        return details;
+    }
+
+    public void invalidate(UUID eventId) {
+        cache.invalidate(eventId);
+    }
+
+    private record VersionedDetails(long version, EventDetailsDTO details) {
+    }
+}
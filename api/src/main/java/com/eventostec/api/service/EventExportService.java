@@ -0,0 +1,154 @@
+package com.eventostec.api.service;
+
+import com.eventostec.api.domain.coupon.CouponRequestDTO;
+import com.eventostec.api.domain.event.EventExportDTO;
+import com.eventostec.api.domain.event.EventExportRow;
+import com.eventostec.api.repositories.EventRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Exporta todos os eventos com endereço e cupons ativos direto para o stream da resposta. A consulta é lida
+ * por cursor (fetch size na própria query) e cada evento é escrito assim que sua última linha chega, então a
+ * memória usada não depende do tamanho da tabela.
+ */
+@Service
+public class EventExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventExportService.class);
+
+    private static final String CSV_HEADER = "id,title,description,date,city,state,remote,eventUrl,imgUrl,coupons";
+
+    @Autowired
+    private EventRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public long exportNdjson(OutputStream output) throws IOException {
+        // Sem flush por evento: o generator e o buffer do Tomcat agrupam as linhas em escritas grandes no socket
+        ObjectWriter writer = objectMapper.writerFor(EventExportDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(output);
+        generator.setRootValueSeparator(null);
+        long count = this.export(event -> {
+            writer.writeValue(generator, event);
+            generator.writeRaw('\n');
+        });
+        generator.flush();
+        return count;
+    }
+
+    @Transactional(readOnly = true)
+    public long exportCsv(OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        long count = this.export(event -> {
+            writer.write(csvField(event.id().toString()));
+            writer.write(',');
+            writer.write(csvField(event.title()));
+            writer.write(',');
+            writer.write(csvField(event.description()));
+            writer.write(',');
+            writer.write(event.date() != null ? event.date().toString() : "");
+            writer.write(',');
+            writer.write(csvField(event.city()));
+            writer.write(',');
+            writer.write(csvField(event.state()));
+            writer.write(',');
+            writer.write(String.valueOf(event.remote()));
+            writer.write(',');
+            writer.write(csvField(event.eventUrl()));
+            writer.write(',');
+            writer.write(csvField(event.imgUrl()));
+            writer.write(',');
+            writer.write(csvField(csvCoupons(event.coupons())));
+            writer.write('\n');
+        });
+        writer.flush();
+        return count;
+    }
+
+    private long export(EventWriter eventWriter) throws IOException {
+        long start = System.nanoTime();
+        long count = 0;
+
+        try (Stream<EventExportRow> rows = repository.streamForExport(new Date())) {
+            Iterator<EventExportRow> iterator = rows.iterator();
+            EventExportRow current = null;
+            List<CouponRequestDTO> coupons = new ArrayList<>();
+
+            while (iterator.hasNext()) {
+                EventExportRow row = iterator.next();
+                if (current != null && !current.id().equals(row.id())) {
+                    eventWriter.write(toExport(current, coupons));
+                    coupons = new ArrayList<>();
+                    count++;
+                }
+                current = row;
+                if (row.couponCode() != null) {
+                    coupons.add(new CouponRequestDTO(row.couponCode(), row.couponDiscount(), row.couponValid().getTime(),
+                            row.couponMaxUses(), row.couponMaxUsesPerUser()));
+                }
+            }
+            if (current != null) {
+                eventWriter.write(toExport(current, coupons));
+                count++;
+            }
+        }
+
+        logger.info("Exportação concluída: {} eventos em {} ms", count, (System.nanoTime() - start) / 1_000_000);
+        return count;
+    }
+
+    private static EventExportDTO toExport(EventExportRow row, List<CouponRequestDTO> coupons) {
+        return new EventExportDTO(row.id(), row.title(), row.description(), row.date() != null ? row.date().getTime() : null,
+                row.city(), row.state(), row.remote(), row.eventUrl(), row.imgUrl(), coupons);
+    }
+
+    private static String csvCoupons(List<CouponRequestDTO> coupons) {
+        StringBuilder value = new StringBuilder();
+        for (CouponRequestDTO coupon : coupons) {
+            if (!value.isEmpty()) {
+                value.append('|');
+            }
+            value.append(coupon.code()).append(':').append(coupon.discount()).append(':').append(coupon.valid());
+        }
+        return value.toString();
+    }
+
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @FunctionalInterface
+    private interface EventWriter {
+        void write(EventExportDTO event) throws IOException;
+    }
+}
@@ -0,0 +1,285 @@
+package com.eventostec.api.service;
+
+import com.eventostec.api.domain.change.ChangeType;
+import com.eventostec.api.domain.coupon.CouponChangeDTO;
+import com.eventostec.api.domain.coupon.CouponRequestDTO;
+import com.eventostec.api.domain.event.EventImportResultDTO;
+import com.eventostec.api.domain.event.EventImportRowDTO;
+import com.eventostec.api.domain.event.EventResponseDTO;
+import com.eventostec.api.domain.event.ImageStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+public class EventImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventImportService.class);
+
+    private static final String INSERT_EVENT =
+            "INSERT INTO event (id, title, description, img_url, event_url, date, remote, img_status) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ADDRESS =
+            "INSERT INTO address (id, city, uf, event_id, latitude, longitude) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_COUPON =
+            "INSERT INTO coupon (id, code, discount, valid, event_id, max_uses, max_uses_per_user) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final List<String> CSV_COLUMNS =
+            List.of("title", "description", "date", "city", "state", "remote", "eventUrl", "imgUrl");
+
+    @Value("${events.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${events.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CityGeocoder cityGeocoder;
+
+    @Autowired
+    private ChangeOutboxService changeOutboxService;
+
+    public EventImportResultDTO importNdjson(InputStream input) throws IOException {
+        return this.importLines(input, false);
+    }
+
+    public EventImportResultDTO importCsv(InputStream input) throws IOException {
+        return this.importLines(input, true);
+    }
+
+    private EventImportResultDTO importLines(InputStream input, boolean csv) throws IOException {
+        long start = System.nanoTime();
+        ImportProgress progress = new ImportProgress();
+        List<ImportRow> chunk = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+
+            if (csv) {
+                lineNumber++;
+                String header = reader.readLine();
+                if (header == null || !parseCsvLine(header).equals(CSV_COLUMNS)) {
+                    throw new IllegalArgumentException("CSV header must be " + String.join(",", CSV_COLUMNS));
+                }
+            }
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                progress.processed++;
+
+                try {
+                    EventImportRowDTO row = csv ? this.fromCsv(line) : objectMapper.readValue(line, EventImportRowDTO.class);
+                    validate(row);
+                    chunk.add(new ImportRow(lineNumber, UUID.randomUUID(), row));
+                } catch (Exception e) {
+                    progress.fail(lineNumber, e.getMessage(), maxReportedErrors);
+                }
+
+                if (chunk.size() >= batchSize) {
+                    this.flush(chunk, progress);
+                }
+            }
+        }
+        this.flush(chunk, progress);
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Importação concluída: {} linhas processadas, {} importadas, {} com erro em {} ms",
+                progress.processed, progress.imported, progress.failed, elapsedMs);
+        return new EventImportResultDTO(progress.processed, progress.imported, progress.failed, elapsedMs, progress.errors);
+    }
+
+    private void flush(List<ImportRow> chunk, ImportProgress progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> this.insert(chunk));
+            progress.imported += chunk.size();
+        } catch (DataAccessException e) {
+            // Um registro inválido derruba o lote inteiro; repete linha a linha para isolar os culpados
+            logger.warn("Lote de {} linhas rejeitado ({}). Reprocessando individualmente.", chunk.size(), e.getMessage());
+            for (ImportRow row : chunk) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> this.insert(List.of(row)));
+                    progress.imported++;
+                } catch (DataAccessException rowError) {
+                    progress.fail(row.line(), rowError.getMostSpecificCause().getMessage(), maxReportedErrors);
+                }
+            }
+        }
+        chunk.clear();
+    }
+
+    private void insert(List<ImportRow> rows) {
+        List<Object[]> events = new ArrayList<>(rows.size());
+        List<Object[]> addresses = new ArrayList<>();
+        List<Object[]> coupons = new ArrayList<>();
+        List<ChangeOutboxService.Change> changes = new ArrayList<>(rows.size());
+
+        for (ImportRow row : rows) {
+            EventImportRowDTO data = row.data();
+            boolean hasImage = data.imgUrl() != null && !data.imgUrl().isBlank();
+            String imgUrl = hasImage ? data.imgUrl() : "default-image-url";
+            Date date = new Date(data.date());
+            events.add(new Object[]{
+                    row.id(),
+                    data.title(),
+                    data.description() != null ? data.description() : "",
+                    imgUrl,
+                    data.eventUrl(),
+                    new Timestamp(data.date()),
+                    data.remote(),
+                    (hasImage ? ImageStatus.UPLOADED : ImageStatus.NONE).name()});
+            boolean inPerson = Boolean.FALSE.equals(data.remote());
+            changes.add(new ChangeOutboxService.Change(ChangeType.EVENT_CREATED, row.id(), new EventResponseDTO(row.id(),
+                    data.title(), data.description() != null ? data.description() : "", date,
+                    inPerson ? data.city() : "", inPerson ? data.state() : "", data.remote(), data.eventUrl(), imgUrl, imgUrl, imgUrl)));
+
+            if (inPerson) {
+                CityGeocoder.Coordinates coordinates = cityGeocoder.locate(data.city(), data.state()).orElse(null);
+                addresses.add(new Object[]{UUID.randomUUID(), data.city(), data.state(), row.id(),
+                        coordinates != null ? coordinates.latitude() : null, coordinates != null ? coordinates.longitude() : null});
+            }
+            if (data.coupons() != null) {
+                for (CouponRequestDTO coupon : data.coupons()) {
+                    UUID couponId = UUID.randomUUID();
+                    coupons.add(new Object[]{couponId, coupon.code(), coupon.discount(), new Timestamp(coupon.valid()), row.id(),
+                            coupon.maxUses(), coupon.maxUsesPerUser()});
+                    changes.add(new ChangeOutboxService.Change(ChangeType.COUPON_CREATED, row.id(), new CouponChangeDTO(couponId,
+                            row.id(), coupon.code(), coupon.discount(), new Date(coupon.valid()), coupon.maxUses(), coupon.maxUsesPerUser())));
+                }
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_EVENT, events);
+        if (!addresses.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ADDRESS, addresses);
+        }
+        if (!coupons.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_COUPON, coupons);
+        }
+        // Mesma transação do lote: eventos e cupons importados também chegam ao feed de mudanças
+        changeOutboxService.recordAll(changes);
+    }
+
+    private static void validate(EventImportRowDTO row) {
+        if (row.title() == null || row.title().isBlank()) {
+            throw new IllegalArgumentException("title is required");
+        }
+        if (row.date() == null) {
+            throw new IllegalArgumentException("date is required");
+        }
+        if (row.eventUrl() == null || row.eventUrl().isBlank()) {
+            throw new IllegalArgumentException("eventUrl is required");
+        }
+        if (row.remote() == null) {
+            throw new IllegalArgumentException("remote is required");
+        }
+        if (!row.remote() && (row.city() == null || row.city().isBlank() || row.state() == null || row.state().isBlank())) {
+            throw new IllegalArgumentException("city and state are required for non-remote events");
+        }
+        if (row.coupons() != null) {
+            for (CouponRequestDTO coupon : row.coupons()) {
+                if (coupon.code() == null || coupon.discount() == null || coupon.valid() == null) {
+                    throw new IllegalArgumentException("coupon code, discount and valid are required");
+                }
+            }
+        }
+    }
+
+    private EventImportRowDTO fromCsv(String line) {
+        List<String> values = parseCsvLine(line);
+        if (values.size() != CSV_COLUMNS.size()) {
+            throw new IllegalArgumentException("expected " + CSV_COLUMNS.size() + " columns but found " + values.size());
+        }
+        return new EventImportRowDTO(
+                values.get(0),
+                emptyToNull(values.get(1)),
+                values.get(2).isBlank() ? null : Long.valueOf(values.get(2).trim()),
+                emptyToNull(values.get(3)),
+                emptyToNull(values.get(4)),
+                values.get(5).isBlank() ? null : Boolean.valueOf(values.get(5).trim()),
+                emptyToNull(values.get(6)),
+                emptyToNull(values.get(7)),
+                null);
+    }
+
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    private record ImportRow(long line, UUID id, EventImportRowDTO data) {
+    }
+
+    private static class ImportProgress {
+        private long processed;
+        private long imported;
+        private long failed;
+        private final List<EventImportResultDTO.RowErrorDTO> errors = new ArrayList<>();
+
+        private void fail(long line, String message, int maxReportedErrors) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new EventImportResultDTO.RowErrorDTO(line, message));
+            }
+        }
+    }
+}
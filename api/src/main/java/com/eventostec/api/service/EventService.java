@@ -1,24 +1,26 @@
 package com.eventostec.api.service;
 
-import com.amazonaws.services.s3.AmazonS3;
 import com.eventostec.api.domain.address.Address;
-import com.eventostec.api.domain.coupon.Coupon;
+import com.eventostec.api.domain.change.ChangeType;
 import com.eventostec.api.domain.event.*;
+import com.eventostec.api.domain.image.EventImageUrls;
 import com.eventostec.api.repositories.EventRepository;
+import com.eventostec.api.repositories.UpcomingEventViewRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
 
-import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
 import java.util.*;
-import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,166 +30,267 @@ public class EventService {
 
     private static final Logger logger = LoggerFactory.getLogger(EventService.class);
 
-    @Value("${aws.bucket.name}")
-    private String bucketName;
-
     @Autowired
-    private AmazonS3 s3Client;
+    private ImageStorageService imageStorageService;
 
     @Autowired
     private EventRepository repository;
 
+    @Autowired
+    private UpcomingEventViewRepository upcomingEventViewRepository;
+
     @Autowired
     private AddressService addressService;
 
-    public Event createEvent(EventRequestDTO data) {
-        logger.info("Iniciando criação do evento...");
-        logger.info("Dados recebidos: título={}, descrição={}, data={}, cidade={}, estado={}, remoto={}, URL={}, imagem={}",
-                data.title(), data.description(), data.date(), data.city(), data.state(), data.remote(), data.eventUrl(),
-                (data.image() != null ? data.image().getOriginalFilename() : "Nenhuma"));
+    @Autowired
+    private AsyncImageUploadService asyncImageUploadService;
+
+    @Autowired
+    private ChangeOutboxService changeOutboxService;
 
-        String imgUrl = "default-image-url";
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${events.upload.async.enabled:false}")
+    private boolean asyncUpload;
+
+    @Value("${events.listing.max-page-size:100}")
+    private int maxPageSize;
+
+    @Value("${events.geo.max-radius-km:500}")
+    private double maxRadiusKm;
 
-        if (data.image() != null) {
+    public Event createEvent(EventRequestDTO data) {
+        logger.debug("Iniciando criação do evento...");
+        logger.debug("Dados recebidos: título={}, descrição={}, data={}, cidade={}, estado={}, remoto={}, URL={}, imagem={}",
+                data.title(), data.description(), data.date(), data.city(), data.state(), data.remote(), data.eventUrl(),
+                (data.image() != null ? data.image().getOriginalFilename() : data.imageKey() != null ? data.imageKey() : "Nenhuma"));
+
+        EventImageUrls imageUrls = EventImageUrls.single("default-image-url");
+        ImageStatus imgStatus = ImageStatus.NONE;
+
+        if (data.image() == null && data.imageKey() != null) {
+            // Upload direto pelo cliente via URL pré-assinada: só confirmamos que o objeto existe
+            imageUrls = EventImageUrls.single(imageStorageService.verifyDirectUpload(data.imageKey()));
+            imgStatus = ImageStatus.UPLOADED;
+            logger.debug("Imagem enviada diretamente ao bucket: {}", data.imageKey());
+        } else if (data.image() != null && asyncUpload) {
+            logger.debug("Upload assíncrono habilitado. A imagem {} será enviada após salvar o evento.", data.image().getOriginalFilename());
+            imgStatus = ImageStatus.PENDING;
+        } else if (data.image() != null) {
             try {
-                logger.info("Arquivo de imagem recebido: {}", data.image().getOriginalFilename());
-                imgUrl = this.uploadImg(data.image());
-                logger.info("Imagem carregada com sucesso. URL da imagem: {}", imgUrl);
+                logger.debug("Arquivo de imagem recebido: {}", data.image().getOriginalFilename());
+                imageUrls = this.uploadImg(data.image());
+                imgStatus = "default-image-url".equals(imageUrls.imgUrl()) ? ImageStatus.FAILED : ImageStatus.UPLOADED;
+                logger.debug("Imagem carregada com sucesso. URL da imagem: {}", imageUrls.imgUrl());
             } catch (Exception e) {
                 logger.error("Erro ao carregar a imagem: {}", e.getMessage(), e);
             }
         } else {
-            logger.warn("Nenhuma imagem foi enviada. Usando URL padrão.");
+            logger.debug("Nenhuma imagem foi enviada. Usando URL padrão.");
         }
 
-        Event newEvent = new Event();
-        newEvent.setTitle(data.title());
-        newEvent.setDescription(data.description());
-        newEvent.setEventUrl(data.eventUrl());
-        newEvent.setDate(new Date(data.date()));
-        newEvent.setImgUrl(imgUrl);
-        newEvent.setRemote(data.remote());
-
-        try {
-            newEvent = repository.save(newEvent);
-            logger.info("Evento criado e salvo no banco de dados com sucesso. ID: {}", newEvent.getId());
-        } catch (Exception e) {
-            logger.error("Erro ao salvar o evento no banco de dados: {}", e.getMessage(), e);
-            throw e;
-        }
-
-        if (Boolean.FALSE.equals(data.remote())) {
-            logger.info("O evento não é remoto. Iniciando criação do endereço...");
+        Event event = new Event();
+        event.setTitle(data.title());
+        event.setDescription(data.description());
+        event.setEventUrl(data.eventUrl());
+        event.setDate(new Date(data.date()));
+        event.setImgUrl(imageUrls.imgUrl());
+        event.setImgCardUrl(imageUrls.cardUrl());
+        event.setImgThumbnailUrl(imageUrls.thumbnailUrl());
+        event.setImgStatus(imgStatus);
+        event.setRemote(data.remote());
+
+        // Evento, endereço e registro no outbox comitam juntos; o upload síncrono acima fica fora da transação
+        EventImageUrls fallbackUrls = imageUrls;
+        ImageStatus initialStatus = imgStatus;
+        Event newEvent = transactionTemplate.execute(transaction -> {
+            Event savedEvent;
             try {
-                this.addressService.createAddress(data, newEvent);
-                logger.info("Endereço criado com sucesso para o evento ID: {}", newEvent.getId());
+                savedEvent = repository.save(event);
+                logger.debug("Evento criado e salvo no banco de dados com sucesso. ID: {}", savedEvent.getId());
             } catch (Exception e) {
-                logger.error("Erro ao criar o endereço para o evento ID: {}: {}", newEvent.getId(), e.getMessage(), e);
+                logger.error("Erro ao salvar o evento no banco de dados: {}", e.getMessage(), e);
+                throw e;
+            }
+
+            if (Boolean.FALSE.equals(data.remote())) {
+                logger.debug("O evento não é remoto. Iniciando criação do endereço...");
+                this.addressService.createAddress(data, savedEvent);
+                logger.debug("Endereço criado com sucesso para o evento ID: {}", savedEvent.getId());
+            } else {
+                logger.debug("O evento é remoto. Nenhum endereço será criado.");
             }
-        } else {
-            logger.info("O evento é remoto. Nenhum endereço será criado.");
-        }
 
+            if (initialStatus == ImageStatus.PENDING) {
+                try {
+                    this.asyncImageUploadService.schedule(savedEvent.getId(), data.image());
+                } catch (Exception e) {
+                    logger.error("Erro ao agendar o upload da imagem do evento ID: {}: {}", savedEvent.getId(), e.getMessage(), e);
+                    repository.updateImage(savedEvent.getId(), fallbackUrls.imgUrl(), fallbackUrls.cardUrl(), fallbackUrls.thumbnailUrl(), ImageStatus.FAILED);
+                    savedEvent.setImgStatus(ImageStatus.FAILED);
+                }
+            }
+
+            changeOutboxService.record(ChangeType.EVENT_CREATED, savedEvent.getId(), new EventResponseDTO(savedEvent.getId(),
+                    savedEvent.getTitle(), savedEvent.getDescription(), savedEvent.getDate(),
+                    Boolean.FALSE.equals(data.remote()) ? data.city() : "", Boolean.FALSE.equals(data.remote()) ? data.state() : "",
+                    savedEvent.getRemote(), savedEvent.getEventUrl(), savedEvent.getImgUrl(),
+                    savedEvent.getImgCardUrl() != null ? savedEvent.getImgCardUrl() : savedEvent.getImgUrl(),
+                    savedEvent.getImgThumbnailUrl() != null ? savedEvent.getImgThumbnailUrl() : savedEvent.getImgUrl()));
+            return savedEvent;
+        });
+
+        eventDetailsCache.invalidate(newEvent.getId());
         return newEvent;
     }
+
+    @Transactional(readOnly = true)
+    public ImageStatusDTO getImageStatus(UUID eventId) {
+        return repository.findImageStatus(eventId)
+                .orElseThrow(() -> new IllegalArgumentException("Event not found"));
+    }
     @Autowired
     private CouponService couponService;
 
-    public EventDetailsDTO getEventDetails(UUID eventId) {
-        Event event = repository.findById(eventId)
+    @Autowired
+    private EventDetailsCache eventDetailsCache;
+
+    // Versão e detalhe sempre do primário: uma réplica atrasada devolveria um ETag mais antigo que o já visto
+    @Transactional
+    public EventVersionDTO getEventVersion(UUID eventId) {
+        return repository.findVersion(eventId, new Date())
                 .orElseThrow(() -> new IllegalArgumentException("Event not found"));
+    }
 
-        List<Coupon> coupons = couponService.consultCoupons(eventId, new Date());
+    /**
+     * Detalhe do evento com conteúdo no mínimo tão novo quanto a versão informada, para que o ETag calculado
+     * a partir dela nunca acompanhe um corpo antigo.
+     */
+    @Transactional
+    public EventDetailsDTO getEventDetails(EventVersionDTO version) {
+        UUID eventId = version.eventId();
+        // O cache guarda só a parte do evento; os cupons vêm do CouponIndex, que já desconta os expirados
+        EventDetailsDTO details = eventDetailsCache.get(eventId, version.version() != null ? version.version() : 0, this::loadEventDetails);
+        long couponChangeSeq = version.couponChangeSeq() != null ? version.couponChangeSeq() : 0;
+        return details.withCoupons(couponService.consultCoupons(eventId, new Date(), couponChangeSeq));
+    }
 
-        List<EventDetailsDTO.CouponDTO> couponDTOs = coupons.stream()
-                .map(coupon -> new EventDetailsDTO.CouponDTO(
-                        coupon.getCode(),
-                        coupon.getDiscount(),
-                        coupon.getValid()))
-                .collect(Collectors.toList());
+    private EventDetailsDTO loadEventDetails(UUID eventId) {
+        EventAddressProjection event = repository.findWithAddressById(eventId)
+                .orElseThrow(() -> new IllegalArgumentException("Event not found"));
 
         return new EventDetailsDTO(
                 event.getId(),
                 event.getTitle(),
                 event.getDescription(),
                 event.getDate(),
-                event.getAddress()!= null? event.getAddress().getCity() : "",
-                event.getAddress()!= null? event.getAddress().getUf(): "",
+                event.getCity() != null ? event.getCity() : "",
+                event.getUf() != null ? event.getUf() : "",
                 event.getImgUrl(),
+                event.getImgCardUrl() != null ? event.getImgCardUrl() : event.getImgUrl(),
+                event.getImgThumbnailUrl() != null ? event.getImgThumbnailUrl() : event.getImgUrl(),
                 event.getEventUrl(),
-                couponDTOs);
+                List.of());
     }
 
 
-    private String uploadImg(MultipartFile multipartFile) {
-        String filename = UUID.randomUUID() + "-" + multipartFile.getOriginalFilename();
-        logger.info("Iniciando upload da imagem com nome gerado: {}", filename);
+    private EventImageUrls uploadImg(MultipartFile multipartFile) {
+        logger.debug("Iniciando upload da imagem: {}", multipartFile.getOriginalFilename());
 
         try {
-            File file = this.convertMultiPartToFile(multipartFile);
-            logger.info("Convertendo MultipartFile para File. Tamanho do arquivo: {} bytes", file.length());
-
-            s3Client.putObject(bucketName, filename, file);
-            logger.info("Upload para o bucket {} realizado com sucesso. Nome do arquivo: {}", bucketName, filename);
-
-            file.delete();
-            logger.info("Arquivo local deletado após upload: {}", file.getName());
-
-            return s3Client.getUrl(bucketName, filename).toString();
+            return imageStorageService.upload(multipartFile);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Upload da imagem interrompido: {}", e.getMessage(), e);
+            return EventImageUrls.single("default-image-url");
         } catch (Exception e) {
             logger.error("Erro ao subir arquivo para o bucket: {}", e.getMessage(), e);
-            return "default-image-url";
+            return EventImageUrls.single("default-image-url");
         }
     }
 
-    private File convertMultiPartToFile(MultipartFile multipartFile) throws IOException {
-
-        File convFile = new File(Objects.requireNonNull(multipartFile.getOriginalFilename()));
-        FileOutputStream fos = new FileOutputStream(convFile);
-        fos.write(multipartFile.getBytes());
-        fos.close();
-        return convFile;
-    }
-
+    @Transactional(readOnly = true)
     public List<EventResponseDTO> getFilteredEvents(int page, int size, String city, String uf, Date startDate, Date endDate){
         city = (city != null) ? city : "";
         uf = (uf != null) ? uf : "";
         startDate = (startDate != null) ? startDate : new Date(0);
         endDate = (endDate != null) ? endDate : new Date();
 
-        Pageable pageable = PageRequest.of(page, size);
+        Pageable pageable = PageRequest.of(page, Math.min(size, maxPageSize));
 
         Page<EventAddressProjection> eventsPage = this.repository.findFilteredEvents(city, uf, startDate, endDate, pageable);
-        return eventsPage.map(event -> new EventResponseDTO(
-                        event.getId(),
-                        event.getTitle(),
-                        event.getDescription(),
-                        event.getDate(),
-                        event.getCity() != null ? event.getCity() : "",
-                        event.getUf() != null ? event.getUf() : "",
-                        event.getRemote(),
-                        event.getEventUrl(),
-                        event.getImgUrl())
-                )
-                .stream().toList();
+        return eventsPage.map(EventResponseDTO::fromProjection).stream().toList();
     }
 
+    @Transactional(readOnly = true)
+    public List<EventResponseDTO> getUpcomingEvents(int page, int size) {
+        Pageable pageable = PageRequest.of(page, Math.min(size, maxPageSize));
+        return this.upcomingEventViewRepository.findUpcoming(new Date(), pageable).stream()
+                .map(EventResponseDTO::fromProjection)
+                .toList();
+    }
 
+    @Transactional(readOnly = true)
+    public List<EventResponseDTO> searchEvents(String query, int size) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        return this.repository.searchEvents(query.trim(), this.pageSize(size)).stream()
+                .map(EventResponseDTO::fromProjection)
+                .toList();
+    }
 
-    public List<EventResponseDTO> getUpcomingEvents(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<EventAddressProjection> eventsPage = this.repository.findUpcomingEvents(new Date(), pageable);
-        return eventsPage.map(event -> new EventResponseDTO(
-                        event.getId(),
-                        event.getTitle(),
-                        event.getDescription(),
-                        event.getDate(),
-                        event.getCity() != null ? event.getCity() : "",
-                        event.getUf() != null ? event.getUf() : "",
-                        event.getRemote(),
-                        event.getEventUrl(),
-                        event.getImgUrl())
-                )
-                .stream().toList();
+    @Transactional(readOnly = true)
+    public List<EventNearbyDTO> getEventsNear(double latitude, double longitude, double radiusKm, int size) {
+        // Escritas assim as comparações também recusam NaN
+        if (!(latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid coordinates");
+        }
+        if (!(radiusKm > 0)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Radius must be positive");
+        }
+        double radiusMeters = Math.min(radiusKm, maxRadiusKm) * 1000;
+        return this.repository.findEventsNear(latitude, longitude, radiusMeters, new Date(), this.pageSize(size)).stream()
+                .map(EventNearbyDTO::fromProjection)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public EventCursorPageDTO getUpcomingEvents(String cursor, int size) {
+        Date currentDate = new Date();
+        EventCursor after = cursor != null ? EventCursor.decode(cursor) : EventCursor.first(currentDate);
+        size = this.pageSize(size);
+
+        List<EventAddressProjection> rows = this.upcomingEventViewRepository.findUpcomingAfter(
+                currentDate, after.date(), after.id(), Limit.of(size + 1));
+        return toCursorPage(rows, size);
+    }
+
+    @Transactional(readOnly = true)
+    public EventCursorPageDTO getFilteredEvents(String cursor, int size, String city, String uf, Date startDate, Date endDate) {
+        city = (city != null) ? city : "";
+        uf = (uf != null) ? uf : "";
+        startDate = (startDate != null) ? startDate : new Date(0);
+        endDate = (endDate != null) ? endDate : new Date();
+        EventCursor after = cursor != null ? EventCursor.decode(cursor) : EventCursor.first(startDate);
+        size = this.pageSize(size);
+
+        List<EventAddressProjection> rows = this.repository.findFilteredEventsAfter(
+                city, uf, startDate, endDate, after.date(), after.id(), Limit.of(size + 1));
+        return toCursorPage(rows, size);
+    }
+
+    // Fora da faixa o tamanho é ajustado, não recusado: size 0 deixaria a página sem último item para o cursor e
+    // negativo quebra o LIMIT
+    private int pageSize(int size) {
+        return Math.max(1, Math.min(size, maxPageSize));
+    }
+
+    private EventCursorPageDTO toCursorPage(List<EventAddressProjection> rows, int size) {
+        boolean hasNext = rows.size() > size;
+        List<EventAddressProjection> page = hasNext ? rows.subList(0, size) : rows;
+        String next = hasNext ? EventCursor.after(page.get(page.size() - 1)).encode() : null;
+        return new EventCursorPageDTO(page.stream().map(EventResponseDTO::fromProjection).toList(), next);
     }
 }
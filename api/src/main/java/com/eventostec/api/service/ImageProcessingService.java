@@ -0,0 +1,135 @@
+package com.eventostec.api.service;
+
+import com.eventostec.api.domain.image.ImageVariant;
+import com.eventostec.api.domain.image.ProcessedImage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+@Service
+public class ImageProcessingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageProcessingService.class);
+
+    private final Semaphore permits;
+    private final long maxPixels;
+    private final float jpegQuality;
+    private final boolean webpAvailable;
+
+    public ImageProcessingService(@Value("${events.image.processing.max-concurrency:0}") int maxConcurrency,
+                                  @Value("${events.image.processing.max-pixels:40000000}") long maxPixels,
+                                  @Value("${events.image.processing.jpeg-quality:0.82}") float jpegQuality) {
+        this.permits = new Semaphore(maxConcurrency > 0 ? maxConcurrency : Runtime.getRuntime().availableProcessors(), true);
+        this.maxPixels = maxPixels;
+        this.jpegQuality = jpegQuality;
+        // O JDK não traz encoder WebP; ele é usado apenas se um plugin ImageIO estiver no classpath
+        this.webpAvailable = ImageIO.getImageWritersByMIMEType("image/webp").hasNext();
+        logger.info("Processamento de imagens: {} em paralelo, formato {}", permits.availablePermits(), webpAvailable ? "WebP" : "JPEG");
+    }
+
+    /**
+     * Gera as variantes FULL, CARD e THUMBNAIL. Retorna lista vazia quando o conteúdo não é uma imagem
+     * que o ImageIO consiga decodificar.
+     */
+    public List<ProcessedImage> process(InputStreamSource source) throws IOException, InterruptedException {
+        permits.acquire();
+        try (InputStream inputStream = source.getInputStream();
+             ImageInputStream imageInput = ImageIO.createImageInputStream(inputStream)) {
+            Iterator<ImageReader> readers = imageInput != null ? ImageIO.getImageReaders(imageInput) : null;
+            if (readers == null || !readers.hasNext()) {
+                return List.of();
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInput, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new IllegalArgumentException("Image exceeds " + maxPixels + " pixels");
+                }
+
+                // Subamostragem na decodificação: o bitmap em memória fica entre 1x e 2x a largura da maior variante
+                int subsampling = Math.max(1, width / ImageVariant.FULL.getMaxWidth());
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                BufferedImage current = reader.read(0, param);
+
+                List<ProcessedImage> variants = new ArrayList<>(ImageVariant.values().length);
+                for (ImageVariant variant : ImageVariant.values()) {
+                    current = resize(current, variant.getMaxWidth());
+                    variants.add(this.encode(variant, current));
+                }
+                return variants;
+            } finally {
+                reader.dispose();
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static BufferedImage resize(BufferedImage image, int maxWidth) {
+        int width = Math.min(image.getWidth(), maxWidth);
+        int height = Math.max(1, Math.round(image.getHeight() * (width / (float) image.getWidth())));
+        if (width == image.getWidth() && image.getType() == BufferedImage.TYPE_INT_RGB) {
+            return image;
+        }
+
+        BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+
+    private ProcessedImage encode(ImageVariant variant, BufferedImage image) throws IOException {
+        String contentType = webpAvailable ? "image/webp" : "image/jpeg";
+        ImageWriter writer = ImageIO.getImageWritersByMIMEType(contentType).next();
+        ByteArrayOutputStream output = new ByteArrayOutputStream(image.getWidth() * image.getHeight() / 4);
+
+        try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(imageOutput);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (!webpAvailable) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(jpegQuality);
+                param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+
+        return new ProcessedImage(variant, output.toByteArray(), contentType, webpAvailable ? "webp" : "jpg");
+    }
+}
@@ -0,0 +1,248 @@
+package com.eventostec.api.service;
+
+import com.amazonaws.HttpMethod;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.Upload;
+import com.eventostec.api.domain.image.EventImageUrls;
+import com.eventostec.api.domain.image.ImageObject;
+import com.eventostec.api.domain.image.ImageUploadUrlDTO;
+import com.eventostec.api.domain.image.ImageVariant;
+import com.eventostec.api.domain.image.ProcessedImage;
+import com.eventostec.api.repositories.ImageObjectRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+public class ImageStorageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageStorageService.class);
+
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
+    private static final String DIRECT_UPLOAD_PREFIX = "uploads/";
+
+    @Value("${aws.bucket.name}")
+    private String bucketName;
+
+    @Value("${aws.s3.upload.read-limit:131072}")
+    private int readLimit;
+
+    @Value("${events.upload.direct.ttl:PT15M}")
+    private Duration directUploadTtl;
+
+    @Value("${events.upload.direct.max-size-bytes:10485760}")
+    private long directUploadMaxBytes;
+
+    @Autowired
+    @Lazy
+    private AmazonS3 s3Client;
+
+    @Autowired
+    @Lazy
+    private TransferManager transferManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ImageProcessingService imageProcessingService;
+
+    @Autowired
+    private ImageObjectRepository imageObjectRepository;
+
+    public EventImageUrls upload(MultipartFile multipartFile) throws IOException, InterruptedException {
+        return this.uploadImage(multipartFile.getOriginalFilename(), multipartFile, multipartFile.getSize(), multipartFile.getContentType());
+    }
+
+    public EventImageUrls uploadImage(String filename, InputStreamSource source, long contentLength, String contentType) throws IOException, InterruptedException {
+        // Leitura a mais de propósito: a origem é local (multipart ou arquivo temporário) e o hash de 10 MB custa
+        // poucos ms, enquanto calculá-lo junto do processamento obrigaria a redimensionar e enviar mesmo quando a
+        // imagem já existe, e depois copiar ou apagar as chaves temporárias no bucket
+        String contentHash = sha256(source);
+        Optional<ImageObject> existing = imageObjectRepository.findById(contentHash);
+        if (existing.isPresent()) {
+            meterRegistry.counter("events.image.dedup", "result", "hit").increment();
+            logger.debug("Imagem {} já existe no bucket (hash {}). Upload ignorado.", filename, contentHash);
+            return existing.get().toUrls();
+        }
+        meterRegistry.counter("events.image.dedup", "result", "miss").increment();
+
+        String key = contentHash + extension(filename);
+        EventImageUrls urls = this.uploadVariants(key, source, contentLength, contentType);
+        imageObjectRepository.insertIfAbsent(contentHash, urls.imgUrl(), urls.cardUrl(), urls.thumbnailUrl(), contentLength);
+        return urls;
+    }
+
+    private EventImageUrls uploadVariants(String key, InputStreamSource source, long contentLength, String contentType) throws IOException, InterruptedException {
+        List<ProcessedImage> variants = List.of();
+        try {
+            variants = imageProcessingService.process(source);
+        } catch (IllegalArgumentException | IOException e) {
+            logger.warn("Não foi possível gerar as variantes da imagem {}: {}. Enviando o original.", key, e.getMessage());
+        }
+
+        if (variants.isEmpty()) {
+            try (InputStream inputStream = source.getInputStream()) {
+                return EventImageUrls.single(this.upload(key, inputStream, contentLength, contentType));
+            }
+        }
+
+        Map<ImageVariant, String> urls = new EnumMap<>(ImageVariant.class);
+        String baseKey = key.contains(".") ? key.substring(0, key.lastIndexOf('.')) : key;
+        for (ProcessedImage variant : variants) {
+            String variantKey = baseKey + "-" + variant.variant().getSuffix() + "." + variant.extension();
+            urls.put(variant.variant(), this.upload(variantKey, new ByteArrayInputStream(variant.content()),
+                    variant.content().length, variant.contentType()));
+        }
+        return new EventImageUrls(urls.get(ImageVariant.FULL), urls.get(ImageVariant.CARD), urls.get(ImageVariant.THUMBNAIL));
+    }
+
+    /**
+     * Gera uma URL pré-assinada para o cliente enviar a imagem direto ao bucket (PUT), sem passar pela API.
+     * O Content-Type assinado precisa ser repetido pelo cliente no PUT.
+     */
+    public ImageUploadUrlDTO createUploadUrl(String filename, String contentType) {
+        if (contentType == null || !contentType.startsWith("image/")) {
+            throw badRequest("contentType must be an image type");
+        }
+
+        String key = DIRECT_UPLOAD_PREFIX + UUID.randomUUID() + extension(filename);
+        Date expiresAt = new Date(System.currentTimeMillis() + directUploadTtl.toMillis());
+
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucketName, key, HttpMethod.PUT)
+                .withExpiration(expiresAt)
+                .withContentType(contentType);
+        String uploadUrl = s3Client.generatePresignedUrl(request).toString();
+        meterRegistry.counter("events.image.direct.urls").increment();
+        return new ImageUploadUrlDTO(key, uploadUrl, contentType, expiresAt);
+    }
+
+    /**
+     * Confirma com um HEAD que o objeto enviado pela URL pré-assinada existe, é uma imagem e respeita o tamanho máximo.
+     * Retorna a URL pública do objeto. Um objeto recusado é apagado, senão ficaria no bucket sem nenhum evento.
+     */
+    public String verifyDirectUpload(String key) {
+        if (!key.startsWith(DIRECT_UPLOAD_PREFIX) || key.contains("..")) {
+            throw badRequest("Invalid image key");
+        }
+
+        ObjectMetadata metadata;
+        try {
+            metadata = s3Client.getObjectMetadata(bucketName, key);
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == 404) {
+                throw badRequest("Image not found");
+            }
+            throw e;
+        }
+
+        if (metadata.getContentType() == null || !metadata.getContentType().startsWith("image/")) {
+            throw this.reject(key, "Uploaded object is not an image");
+        }
+        if (metadata.getContentLength() > directUploadMaxBytes) {
+            throw this.reject(key, "Image exceeds " + directUploadMaxBytes + " bytes");
+        }
+        return s3Client.getUrl(bucketName, key).toString();
+    }
+
+    private ResponseStatusException reject(String key, String reason) {
+        try {
+            s3Client.deleteObject(bucketName, key);
+            meterRegistry.counter("events.image.direct.rejected").increment();
+        } catch (RuntimeException e) {
+            logger.warn("Não foi possível apagar o upload recusado {}: {}", key, e.getMessage());
+        }
+        return badRequest(reason);
+    }
+
+    public String upload(String key, InputStream inputStream, long contentLength, String contentType) throws InterruptedException {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(contentLength);
+        if (contentType != null) {
+            metadata.setContentType(contentType);
+        }
+
+        PutObjectRequest request = new PutObjectRequest(bucketName, key, inputStream, metadata);
+        request.getRequestClientOptions().setReadLimit(readLimit);
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            Upload upload = transferManager.upload(request);
+            upload.waitForCompletion();
+            outcome = "success";
+            DistributionSummary.builder("events.image.upload.bytes")
+                    .baseUnit("bytes")
+                    .register(meterRegistry)
+                    .record(contentLength);
+            logger.debug("Upload para o bucket {} concluído. Chave: {}, tamanho: {} bytes", bucketName, key, contentLength);
+        } catch (RuntimeException | InterruptedException e) {
+            meterRegistry.counter("events.image.upload.failures").increment();
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("events.image.upload", "outcome", outcome));
+        }
+
+        return s3Client.getUrl(bucketName, key).toString();
+    }
+
+    private static ResponseStatusException badRequest(String reason) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, reason);
+    }
+
+    private static String sha256(InputStreamSource source) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        byte[] buffer = new byte[HASH_BUFFER_SIZE];
+        try (InputStream inputStream = source.getInputStream()) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String extension(String filename) {
+        if (filename == null || filename.lastIndexOf('.') < 0) {
+            return "";
+        }
+        String extension = filename.substring(filename.lastIndexOf('.')).toLowerCase();
+        return extension.matches("\\.[a-z0-9]{1,5}") ? extension : "";
+    }
+}
@@ -0,0 +1,28 @@
+package com.eventostec.api.service;
+
+import com.eventostec.api.repositories.UpcomingEventViewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+
+@Service
+public class UpcomingEventViewPruner {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpcomingEventViewPruner.class);
+
+    @Autowired
+    private UpcomingEventViewRepository repository;
+
+    // As leituras já filtram por data; a poda só mantém o índice do modelo de leitura pequeno
+    @Scheduled(fixedDelayString = "${events.read-model.prune-interval:PT5M}")
+    public void prune() {
+        int removed = repository.deleteByDateBefore(new Date());
+        if (removed > 0) {
+            logger.debug("{} eventos passados removidos do modelo de leitura", removed);
+        }
+    }
+}
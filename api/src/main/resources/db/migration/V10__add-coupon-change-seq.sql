@@ -0,0 +1,20 @@
+-- Feed de mudanças de cupons: cada insert/update recebe um número crescente que os nós da API consultam
+-- para manter o índice de cupons em memória sincronizado
+CREATE SEQUENCE coupon_change_seq;
+
+ALTER TABLE coupon ADD COLUMN change_seq BIGINT NOT NULL DEFAULT nextval('coupon_change_seq');
+ALTER SEQUENCE coupon_change_seq OWNED BY coupon.change_seq;
+
+CREATE FUNCTION coupon_touch_change_seq() RETURNS trigger AS
+$$
+BEGIN
+    NEW.change_seq := nextval('coupon_change_seq');
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_coupon_change_seq
+    BEFORE UPDATE ON coupon
+    FOR EACH ROW EXECUTE FUNCTION coupon_touch_change_seq();
+
+CREATE INDEX idx_coupon_change_seq ON coupon (change_seq);
@@ -0,0 +1,42 @@
+ALTER TABLE coupon ADD COLUMN max_uses INTEGER;
+ALTER TABLE coupon ADD COLUMN max_uses_per_user INTEGER;
+
+CREATE INDEX idx_coupon_event_id_code ON coupon (event_id, code);
+
+-- A capacidade de um cupom limitado é dividida em faixas (slots). Cada resgate decrementa um slot livre escolhido
+-- com SKIP LOCKED, então resgates concorrentes do mesmo cupom não ficam em fila na mesma linha.
+-- A soma de remaining nunca passa de max_uses e nenhum slot fica negativo: não há resgate além do limite.
+CREATE TABLE coupon_usage_slot (
+    coupon_id UUID NOT NULL,
+    slot SMALLINT NOT NULL,
+    remaining INTEGER NOT NULL CHECK (remaining >= 0),
+    PRIMARY KEY (coupon_id, slot),
+    FOREIGN KEY (coupon_id) REFERENCES coupon(id) ON DELETE CASCADE
+);
+
+CREATE TABLE coupon_user_usage (
+    coupon_id UUID NOT NULL,
+    user_id VARCHAR(100) NOT NULL,
+    uses INTEGER NOT NULL,
+    PRIMARY KEY (coupon_id, user_id),
+    FOREIGN KEY (coupon_id) REFERENCES coupon(id) ON DELETE CASCADE
+);
+
+CREATE FUNCTION coupon_create_usage_slots() RETURNS trigger AS
+$$
+DECLARE
+    stripes INTEGER := LEAST(NEW.max_uses, 16);
+BEGIN
+    IF stripes > 0 THEN
+        INSERT INTO coupon_usage_slot (coupon_id, slot, remaining)
+        SELECT NEW.id, g, NEW.max_uses / stripes + CASE WHEN g < NEW.max_uses % stripes THEN 1 ELSE 0 END
+        FROM generate_series(0, stripes - 1) AS g;
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_coupon_usage_slots
+    AFTER INSERT ON coupon
+    FOR EACH ROW WHEN (NEW.max_uses IS NOT NULL)
+    EXECUTE FUNCTION coupon_create_usage_slots();
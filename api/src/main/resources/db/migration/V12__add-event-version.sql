@@ -0,0 +1,35 @@
+-- Validadores HTTP do detalhe do evento: a versão sobe a cada alteração do evento, do endereço ou dos cupons
+ALTER TABLE event ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE event ADD COLUMN updated_at TIMESTAMP NOT NULL DEFAULT now();
+
+CREATE FUNCTION event_touch_version() RETURNS trigger AS
+$$
+BEGIN
+    NEW.version := OLD.version + 1;
+    NEW.updated_at := clock_timestamp();
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_event_version
+    BEFORE UPDATE ON event
+    FOR EACH ROW EXECUTE FUNCTION event_touch_version();
+
+-- Um toque por transação basta: se o evento já foi gravado nela (xmin), os demais cupons do lote não o regravam
+CREATE FUNCTION event_touch_from_child() RETURNS trigger AS
+$$
+BEGIN
+    UPDATE event SET version = version
+    WHERE id IN (NEW.event_id, OLD.event_id)
+      AND xmin <> pg_current_xact_id()::xid;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_coupon_event_version
+    AFTER INSERT OR UPDATE OR DELETE ON coupon
+    FOR EACH ROW EXECUTE FUNCTION event_touch_from_child();
+
+CREATE TRIGGER trg_address_event_version
+    AFTER INSERT OR UPDATE OR DELETE ON address
+    FOR EACH ROW EXECUTE FUNCTION event_touch_from_child();
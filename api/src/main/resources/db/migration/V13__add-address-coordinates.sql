@@ -0,0 +1,22 @@
+CREATE EXTENSION IF NOT EXISTS cube;
+CREATE EXTENSION IF NOT EXISTS earthdistance;
+
+ALTER TABLE address ADD COLUMN latitude DOUBLE PRECISION;
+ALTER TABLE address ADD COLUMN longitude DOUBLE PRECISION;
+
+-- ll_to_earth() é IMMUTABLE e o cube tem operador de distância (<->) indexável: o mesmo índice GiST atende
+-- o filtro por raio (earth_box) e a ordenação por proximidade (KNN) sem ordenar todas as linhas do raio
+CREATE INDEX idx_address_earth ON address USING gist (ll_to_earth(latitude, longitude))
+    WHERE latitude IS NOT NULL AND longitude IS NOT NULL;
+
+-- Coordenadas não aparecem no modelo de leitura nem no detalhe do evento: preenchê-las (inclusive no backfill)
+-- não deve reescrever upcoming_event_view nem mudar a versão do evento
+DROP TRIGGER trg_address_upcoming_event_view ON address;
+CREATE TRIGGER trg_address_upcoming_event_view
+    AFTER INSERT OR UPDATE OF city, uf, event_id OR DELETE ON address
+    FOR EACH ROW EXECUTE FUNCTION upcoming_event_view_sync_address();
+
+DROP TRIGGER trg_address_event_version ON address;
+CREATE TRIGGER trg_address_event_version
+    AFTER INSERT OR UPDATE OF city, uf, event_id OR DELETE ON address
+    FOR EACH ROW EXECUTE FUNCTION event_touch_from_child();
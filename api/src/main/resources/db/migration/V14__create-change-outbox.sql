@@ -0,0 +1,28 @@
+-- Outbox: gravado na mesma transação que o evento/cupom. O relay move as linhas para change_feed em lotes.
+CREATE TABLE change_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    type VARCHAR(50) NOT NULL,
+    event_id UUID NOT NULL,
+    payload JSONB NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+-- Feed lido pelos consumidores. As posições são atribuídas pelo relay sob o lock de change_feed_head, então
+-- crescem sem buracos na ordem de publicação e um consumidor pode retomar de onde parou com position > offset
+CREATE TABLE change_feed (
+    position BIGINT PRIMARY KEY,
+    type VARCHAR(50) NOT NULL,
+    event_id UUID NOT NULL,
+    payload JSONB NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    published_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_change_feed_published_at ON change_feed (published_at);
+
+CREATE TABLE change_feed_head (
+    id SMALLINT PRIMARY KEY CHECK (id = 1),
+    position BIGINT NOT NULL
+);
+
+INSERT INTO change_feed_head (id, position) VALUES (1, 0);
@@ -0,0 +1,6 @@
+-- Marca os endereços que o backfill já processou, inclusive os de cidades fora da base: continuam sem coordenadas,
+-- mas não voltam a ser lidos a cada execução
+ALTER TABLE address ADD COLUMN geocoded_at TIMESTAMP;
+
+-- Só os pendentes entram no índice; depois do backfill ele fica vazio e a busca por pendentes não varre a tabela
+CREATE INDEX idx_address_geocoding_pending ON address (city, uf) WHERE latitude IS NULL AND geocoded_at IS NULL;
@@ -0,0 +1,4 @@
+-- Os dois índices começam por event_id e um evento tem poucos cupons: o planner empatava e usava (event_id, code)
+-- até na listagem de válidos, filtrando valid no heap. Com só (event_id, valid) o resgate busca pelo evento e
+-- validade e confere o código entre poucas linhas
+DROP INDEX idx_coupon_event_id_code;
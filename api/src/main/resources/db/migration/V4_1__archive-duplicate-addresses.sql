@@ -0,0 +1,8 @@
+-- A V5 passa a exigir um endereço por evento (uk_address_event_id). Bases antigas podiam ter mais de um: fica o de
+-- menor id e os demais saem de address, mas continuam em address_duplicate para conferência e correção manual
+CREATE TABLE address_duplicate AS
+SELECT a.*, now() AS archived_at
+FROM address a
+WHERE EXISTS (SELECT 1 FROM address b WHERE b.event_id = a.event_id AND b.id < a.id);
+
+DELETE FROM address a USING address_duplicate d WHERE a.id = d.id;
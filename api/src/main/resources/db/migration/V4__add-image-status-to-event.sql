@@ -0,0 +1,12 @@
+ALTER TABLE event ALTER COLUMN img_url TYPE VARCHAR(500);
+ALTER TABLE event ADD COLUMN img_status VARCHAR(20) NOT NULL DEFAULT 'UPLOADED';
+
+CREATE TABLE image_upload_failure (
+    id UUID DEFAULT gen_random_uuid() PRIMARY KEY,
+    event_id UUID NOT NULL,
+    object_key VARCHAR(300) NOT NULL,
+    attempts INTEGER NOT NULL,
+    error VARCHAR(1000),
+    failed_at TIMESTAMP NOT NULL,
+    FOREIGN KEY (event_id) REFERENCES event(id) ON DELETE CASCADE
+);
@@ -0,0 +1,6 @@
+CREATE INDEX idx_event_date_id ON event (date, id);
+
+-- Duplicados já foram arquivados pela V4.1; se ainda houver algum, a constraint falha e a migração para aqui
+ALTER TABLE address ADD CONSTRAINT uk_address_event_id UNIQUE (event_id);
+
+CREATE INDEX idx_coupon_event_id_valid ON coupon (event_id, valid) WHERE event_id IS NOT NULL;
@@ -0,0 +1,12 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- unaccent() é STABLE; o wrapper IMMUTABLE permite usá-lo em índices de expressão
+CREATE OR REPLACE FUNCTION f_unaccent(text) RETURNS text AS
+$$
+SELECT public.unaccent('public.unaccent', $1)
+$$ LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT;
+
+CREATE INDEX idx_event_title_search ON event USING gin (f_unaccent(lower(title)) gin_trgm_ops);
+CREATE INDEX idx_address_city_search ON address USING gin (f_unaccent(lower(city)) gin_trgm_ops);
+CREATE INDEX idx_address_city_trgm ON address USING gin (city gin_trgm_ops);
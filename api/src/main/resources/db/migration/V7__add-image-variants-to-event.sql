@@ -0,0 +1,2 @@
+ALTER TABLE event ADD COLUMN img_card_url VARCHAR(500);
+ALTER TABLE event ADD COLUMN img_thumbnail_url VARCHAR(500);
@@ -0,0 +1,8 @@
+CREATE TABLE image_object (
+    content_hash CHAR(64) PRIMARY KEY,
+    img_url VARCHAR(500) NOT NULL,
+    img_card_url VARCHAR(500) NOT NULL,
+    img_thumbnail_url VARCHAR(500) NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT now()
+);
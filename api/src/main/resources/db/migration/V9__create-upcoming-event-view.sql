@@ -0,0 +1,78 @@
+-- Modelo de leitura da listagem de próximos eventos: evento + endereço já desnormalizados,
+-- mantido por triggers e podado periodicamente pela aplicação
+CREATE TABLE upcoming_event_view (
+    id UUID PRIMARY KEY,
+    title VARCHAR(100) NOT NULL,
+    description VARCHAR(250) NOT NULL,
+    date TIMESTAMP NOT NULL,
+    img_url VARCHAR(500) NOT NULL,
+    img_card_url VARCHAR(500),
+    img_thumbnail_url VARCHAR(500),
+    event_url VARCHAR(100) NOT NULL,
+    remote BOOLEAN NOT NULL,
+    city VARCHAR(100),
+    uf VARCHAR(100)
+);
+
+CREATE INDEX idx_upcoming_event_view_date_id ON upcoming_event_view (date, id);
+
+CREATE FUNCTION upcoming_event_view_sync_event() RETURNS trigger AS
+$$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        DELETE FROM upcoming_event_view WHERE id = OLD.id;
+        RETURN OLD;
+    END IF;
+
+    IF NEW.date < now() THEN
+        DELETE FROM upcoming_event_view WHERE id = NEW.id;
+        RETURN NEW;
+    END IF;
+
+    INSERT INTO upcoming_event_view (id, title, description, date, img_url, img_card_url, img_thumbnail_url, event_url, remote, city, uf)
+    SELECT NEW.id, NEW.title, NEW.description, NEW.date, NEW.img_url, NEW.img_card_url, NEW.img_thumbnail_url,
+           NEW.event_url, NEW.remote, a.city, a.uf
+    FROM (SELECT 1) AS e
+    LEFT JOIN address a ON a.event_id = NEW.id
+    ON CONFLICT (id) DO UPDATE SET
+        title = EXCLUDED.title,
+        description = EXCLUDED.description,
+        date = EXCLUDED.date,
+        img_url = EXCLUDED.img_url,
+        img_card_url = EXCLUDED.img_card_url,
+        img_thumbnail_url = EXCLUDED.img_thumbnail_url,
+        event_url = EXCLUDED.event_url,
+        remote = EXCLUDED.remote,
+        city = EXCLUDED.city,
+        uf = EXCLUDED.uf;
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE FUNCTION upcoming_event_view_sync_address() RETURNS trigger AS
+$$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.event_id IS NOT NULL THEN
+        UPDATE upcoming_event_view SET city = NULL, uf = NULL WHERE id = OLD.event_id;
+    END IF;
+
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.event_id IS NOT NULL THEN
+        UPDATE upcoming_event_view SET city = NEW.city, uf = NEW.uf WHERE id = NEW.event_id;
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_event_upcoming_event_view
+    AFTER INSERT OR UPDATE OR DELETE ON event
+    FOR EACH ROW EXECUTE FUNCTION upcoming_event_view_sync_event();
+
+CREATE TRIGGER trg_address_upcoming_event_view
+    AFTER INSERT OR UPDATE OR DELETE ON address
+    FOR EACH ROW EXECUTE FUNCTION upcoming_event_view_sync_address();
+
+INSERT INTO upcoming_event_view (id, title, description, date, img_url, img_card_url, img_thumbnail_url, event_url, remote, city, uf)
+SELECT e.id, e.title, e.description, e.date, e.img_url, e.img_card_url, e.img_thumbnail_url, e.event_url, e.remote, a.city, a.uf
+FROM event e
+LEFT JOIN address a ON a.event_id = e.id
+WHERE e.date >= now();
@@ -0,0 +1,74 @@
+package com.eventostec.api.config;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "events.datasource.replica.urls=jdbc:h2:mem:replica,jdbc:h2:tcp://localhost:1/offline",
+        "events.datasource.replica.username=sa",
+        "events.datasource.replica.connection-timeout=PT0.25S"
+})
+class ReplicaRoutingTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    private FilterRegistrationBean<ReadYourWrites> readYourWritesFilter;
+
+    @Test
+    void readOnlyTransactionsGoToReplicaAndWritesToPrimary() {
+        for (int i = 0; i < 4; i++) {
+            assertThat(this.currentDatabase(true)).isEqualToIgnoringCase("replica");
+        }
+        assertThat(this.currentDatabase(false)).isEqualToIgnoringCase("events");
+    }
+
+    @Test
+    void replicaThatCannotConnectLeavesTheRotation() {
+        replicaRoutingDataSource.checkReplicas();
+
+        assertThat(replicaRoutingDataSource.healthyReplicas()).isEqualTo(1);
+        assertThat(this.currentDatabase(true)).isEqualToIgnoringCase("replica");
+    }
+
+    @Test
+    void recentWriterReadsFromPrimary() throws Exception {
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        readYourWritesFilter.getFilter().doFilter(new MockHttpServletRequest("POST", "/api/event"), writeResponse, (req, res) -> { });
+        Cookie cookie = writeResponse.getCookie(ReadYourWrites.COOKIE);
+        assertThat(cookie).isNotNull();
+
+        MockHttpServletRequest read = new MockHttpServletRequest("GET", "/api/event");
+        read.setCookies(cookie);
+        AtomicReference<String> database = new AtomicReference<>();
+        readYourWritesFilter.getFilter().doFilter(read, new MockHttpServletResponse(),
+                (req, res) -> database.set(this.currentDatabase(true)));
+
+        assertThat(database.get()).isEqualToIgnoringCase("events");
+        assertThat(this.currentDatabase(true)).isEqualToIgnoringCase("replica");
+    }
+
+    private String currentDatabase(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.queryForObject("SELECT DATABASE()", String.class));
+    }
+}
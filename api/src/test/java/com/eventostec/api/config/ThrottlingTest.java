@@ -0,0 +1,216 @@
+package com.eventostec.api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.NestedTestConfiguration;
+import org.springframework.web.filter.ForwardedHeaderFilter;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "events.throttling.endpoints.add-coupon.method=POST",
+        "events.throttling.endpoints.add-coupon.path=/api/coupon/event/{eventId}",
+        "events.throttling.endpoints.add-coupon.rate=0.01",
+        "events.throttling.endpoints.add-coupon.burst=2",
+        "events.throttling.endpoints.create-event.method=POST",
+        "events.throttling.endpoints.create-event.path=/api/event",
+        "events.throttling.endpoints.create-event.rate=1000",
+        "events.throttling.endpoints.create-event.burst=1000",
+        "events.throttling.endpoints.import.method=POST",
+        "events.throttling.endpoints.import.path=/api/event/import",
+        "events.throttling.endpoints.import.rate=1000",
+        "events.throttling.endpoints.import.burst=1000",
+        "events.throttling.endpoints.import.adaptive=false",
+        "events.throttling.uploads.max-concurrent=1",
+        "events.throttling.uploads.queue-timeout=PT0.05S"
+})
+class ThrottlingTest {
+
+    @Autowired
+    private FilterRegistrationBean<ThrottlingFilter> throttlingFilter;
+
+    @Autowired
+    private ObjectProvider<FilterRegistrationBean<ForwardedHeaderFilter>> forwardedHeaderFilter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void rateLimitsEachClientSeparately() throws Exception {
+        assertThat(this.post("/api/coupon/event/1", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(this.post("/api/coupon/event/2", "10.0.0.1").getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse limited = this.post("/api/coupon/event/3", "10.0.0.1");
+        assertThat(limited.getStatus()).isEqualTo(429);
+        assertThat(Long.parseLong(limited.getHeader(HttpHeaders.RETRY_AFTER))).isPositive();
+
+        assertThat(this.post("/api/coupon/event/3", "10.0.0.2").getStatus()).isEqualTo(200);
+        // Rotas sem regra não passam pelo limite
+        assertThat(this.post("/api/coupon/event/3/redeem", "10.0.0.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void ignoresForwardedHeadersByDefault() {
+        // Sem o perfil "proxy" ninguém reescreve o IP a partir do X-Forwarded-For, que o cliente controla
+        assertThat(forwardedHeaderFilter.getIfAvailable()).isNull();
+    }
+
+    @Test
+    void shedsUploadsBeyondTheConcurrencyLimit() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> {
+            try {
+                throttlingFilter.getFilter().doFilter(this.upload(), new MockHttpServletResponse(), (req, res) -> {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        MockHttpServletResponse shed = new MockHttpServletResponse();
+        throttlingFilter.getFilter().doFilter(this.upload(), shed, (req, res) -> { });
+        assertThat(shed.getStatus()).isEqualTo(503);
+        assertThat(shed.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        MockHttpServletResponse accepted = new MockHttpServletResponse();
+        throttlingFilter.getFilter().doFilter(this.upload(), accepted, (req, res) -> { });
+        assertThat(accepted.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void keepsUploadsAndSlowRoutesOutOfTheAdaptiveLimit() throws Exception {
+        double[] inFlight = new double[3];
+        throttlingFilter.getFilter().doFilter(new MockHttpServletRequest("POST", "/api/event"), new MockHttpServletResponse(),
+                (req, res) -> inFlight[0] = this.adaptiveInFlight());
+        throttlingFilter.getFilter().doFilter(this.upload(), new MockHttpServletResponse(),
+                (req, res) -> inFlight[1] = this.adaptiveInFlight());
+        throttlingFilter.getFilter().doFilter(new MockHttpServletRequest("POST", "/api/event/import"), new MockHttpServletResponse(),
+                (req, res) -> inFlight[2] = this.adaptiveInFlight());
+
+        assertThat(inFlight).containsExactly(1, 0, 0);
+        assertThat(this.adaptiveInFlight()).isZero();
+    }
+
+    @Test
+    void gcraRefillsAtTheConfiguredRate() {
+        GcraRateLimiter limiter = new GcraRateLimiter(10, 3, Duration.ofMinutes(1), 100);
+        long now = 0;
+
+        assertThat(limiter.acquire("c", now)).isZero();
+        assertThat(limiter.acquire("c", now)).isZero();
+        assertThat(limiter.acquire("c", now)).isZero();
+        assertThat(limiter.acquire("c", now)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertThat(limiter.acquire("c", now + TimeUnit.MILLISECONDS.toNanos(100))).isZero();
+        assertThat(limiter.acquire("c", now + TimeUnit.MILLISECONDS.toNanos(100))).isPositive();
+    }
+
+    @Test
+    void adaptiveLimitShrinksOnSlowResponsesAndRecovers() throws InterruptedException {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(Duration.ofMillis(1), 2, 10);
+        for (int i = 0; i < 10; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+        }
+        assertThat(limit.tryAcquire()).isFalse();
+
+        for (int i = 0; i < 10; i++) {
+            Thread.sleep(2);
+            limit.release(TimeUnit.MILLISECONDS.toNanos(50));
+        }
+        assertThat(limit.limit()).isLessThan(10).isGreaterThanOrEqualTo(2);
+
+        int shrunk = limit.limit();
+        for (int i = 0; i < shrunk; i++) {
+            limit.tryAcquire();
+        }
+        for (int i = 0; i < shrunk; i++) {
+            limit.release(0);
+        }
+        assertThat(limit.limit()).isGreaterThan(shrunk);
+    }
+
+    /** Servidor real com o perfil "proxy": o Tomcat aceita o X-Forwarded-For vindo do loopback, proxy confiável. */
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+            "events.throttling.endpoints.add-coupon.method=POST",
+            "events.throttling.endpoints.add-coupon.path=/api/coupon/event/{eventId}",
+            "events.throttling.endpoints.add-coupon.rate=0.01",
+            "events.throttling.endpoints.add-coupon.burst=2"
+    })
+    @ActiveProfiles("proxy")
+    @NestedTestConfiguration(NestedTestConfiguration.EnclosingConfiguration.OVERRIDE)
+    class BehindATrustedProxy {
+
+        @LocalServerPort
+        private int port;
+
+        private final HttpClient client = HttpClient.newHttpClient();
+
+        @Test
+        void keysClientsByForwardedAddress() throws Exception {
+            assertThat(this.postThroughProxy("203.0.113.1")).isNotEqualTo(429);
+            assertThat(this.postThroughProxy("203.0.113.1")).isNotEqualTo(429);
+            assertThat(this.postThroughProxy("203.0.113.1")).isEqualTo(429);
+            // Mesmo proxy, outro cliente: bucket próprio
+            assertThat(this.postThroughProxy("203.0.113.2")).isNotEqualTo(429);
+        }
+
+        private int postThroughProxy(String client) throws Exception {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/coupon/event/" + UUID.randomUUID()))
+                    .header("X-Forwarded-For", client)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .POST(HttpRequest.BodyPublishers.ofString("{}"))
+                    .build();
+            return this.client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        }
+    }
+
+    private MockHttpServletResponse post(String path, String client) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setRemoteAddr(client);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        throttlingFilter.getFilter().doFilter(request, response, (req, res) -> { });
+        return response;
+    }
+
+    private double adaptiveInFlight() {
+        return meterRegistry.get("events.throttling.in_flight").gauge().value();
+    }
+
+    private MockHttpServletRequest upload() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/event");
+        request.setContentType(MediaType.MULTIPART_FORM_DATA_VALUE + "; boundary=x");
+        return request;
+    }
+}
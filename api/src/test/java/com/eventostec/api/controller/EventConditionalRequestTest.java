@@ -0,0 +1,149 @@
+package com.eventostec.api.controller;
+
+import com.eventostec.api.domain.coupon.CouponRequestDTO;
+import com.eventostec.api.domain.event.Event;
+import com.eventostec.api.domain.event.ImageStatus;
+import com.eventostec.api.repositories.EventRepository;
+import com.eventostec.api.service.CouponService;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.NestedTestConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EventConditionalRequestTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private CouponService couponService;
+
+    @Test
+    void answersNotModifiedUntilACouponExpires() throws Exception {
+        UUID eventId = this.createEvent();
+        long valid = System.currentTimeMillis() + 2_000;
+        couponService.addCouponToEvent(eventId, new CouponRequestDTO("FLASH", 50, valid, null, null));
+
+        String eTag = mockMvc.perform(get("/api/event/{id}", eventId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(jsonPath("$.coupons.length()").value(1))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).startsWith("\"");
+
+        mockMvc.perform(get("/api/event/{id}", eventId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        Thread.sleep(Math.max(0, valid - System.currentTimeMillis()) + 50);
+
+        mockMvc.perform(get("/api/event/{id}", eventId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+                .andExpect(jsonPath("$.coupons.length()").value(0));
+    }
+
+    @Test
+    void listingsCarryBodyEtag() throws Exception {
+        this.createEvent();
+        String eTag = mockMvc.perform(get("/api/event"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/event").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    /** Contra o Postgres, onde a versão do evento vem dos triggers da V12 e não da aplicação. */
+    @Nested
+    @SpringBootTest
+    @AutoConfigureMockMvc
+    @Testcontainers(disabledWithoutDocker = true)
+    @NestedTestConfiguration(NestedTestConfiguration.EnclosingConfiguration.OVERRIDE)
+    class OnPostgres {
+
+        @Container
+        static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+        @DynamicPropertySource
+        static void postgresProperties(DynamicPropertyRegistry registry) {
+            registry.add("spring.datasource.url", postgres::getJdbcUrl);
+            registry.add("spring.datasource.username", postgres::getUsername);
+            registry.add("spring.datasource.password", postgres::getPassword);
+            registry.add("spring.flyway.enabled", () -> "true");
+            registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        }
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private EventRepository eventRepository;
+
+        @Autowired
+        private CouponService couponService;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Test
+        void addingACouponChangesTheEtag() throws Exception {
+            UUID eventId = eventRepository.save(newEvent()).getId();
+            String eTag = mockMvc.perform(get("/api/event/{id}", eventId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+            Long version = this.version(eventId);
+
+            couponService.addCouponToEvent(eventId, new CouponRequestDTO("NOVO", 10, System.currentTimeMillis() + 86_400_000, null, null));
+
+            assertThat(this.version(eventId)).isEqualTo(version + 1);
+            mockMvc.perform(get("/api/event/{id}", eventId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+                    .andExpect(jsonPath("$.coupons.length()").value(1));
+        }
+
+        private Long version(UUID eventId) {
+            return jdbcTemplate.queryForObject("SELECT version FROM event WHERE id = ?", Long.class, eventId);
+        }
+    }
+
+    private UUID createEvent() {
+        return eventRepository.save(newEvent()).getId();
+    }
+
+    private static Event newEvent() {
+        Event event = new Event();
+        event.setTitle("Evento");
+        event.setDescription("Descrição");
+        event.setEventUrl("https://evento");
+        event.setImgUrl("default-image-url");
+        event.setImgStatus(ImageStatus.NONE);
+        event.setRemote(true);
+        event.setDate(new Date(System.currentTimeMillis() + 86_400_000));
+        return event;
+    }
+}
@@ -0,0 +1,138 @@
+package com.eventostec.api.controller;
+
+import com.eventostec.api.domain.coupon.CouponRequestDTO;
+import com.eventostec.api.domain.event.Event;
+import com.eventostec.api.domain.event.ImageStatus;
+import com.eventostec.api.repositories.EventRepository;
+import com.eventostec.api.service.CouponService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Número exato de comandos SQL por endpoint, medido pelas estatísticas do Hibernate. O índice de cupons fica
+ * desligado para que a consulta de cupons também passe pelo JPA e entre na conta.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "events.coupons.index.enabled=false"
+})
+@AutoConfigureMockMvc
+class EventQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private CouponService couponService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void eventDetailsLoadsEventAndAddressInOneQuery() throws Exception {
+        UUID eventId = this.createEvent();
+        couponService.addCouponToEvent(eventId, new CouponRequestDTO("DEZ", 10, System.currentTimeMillis() + 86_400_000, null, null));
+        couponService.addCouponToEvent(eventId, new CouponRequestDTO("VINTE", 20, System.currentTimeMillis() + 86_400_000, null, null));
+
+        // versão + evento com endereço + cupons
+        assertThat(this.statements(get("/api/event/{id}", eventId))).isEqualTo(3);
+        // detalhe em cache: versão + cupons
+        assertThat(this.statements(get("/api/event/{id}", eventId))).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void addingCouponLoadsOnlyTheEvent() throws Exception {
+        UUID eventId = this.createEvent();
+
+        // evento + insert do cupom + outbox
+        assertThat(this.statements(post("/api/coupon/event/{id}", eventId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"code\":\"DEZ\",\"discount\":10,\"valid\":" + (System.currentTimeMillis() + 86_400_000) + "}")))
+                .isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+    }
+
+    @Test
+    void creatingEventInsertsEventAndAddressWithoutReads() throws Exception {
+        // evento + endereço + outbox
+        assertThat(this.statements(multipart("/api/event")
+                .param("title", "Evento")
+                .param("description", "Descrição")
+                .param("date", String.valueOf(System.currentTimeMillis() + 86_400_000))
+                .param("city", "Campinas")
+                .param("state", "SP")
+                .param("remote", "false")
+                .param("eventUrl", "https://evento")))
+                .isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void listingsAreSingleProjectionQueries() throws Exception {
+        this.createEvent();
+
+        assertThat(this.statements(get("/api/event/cursor"))).isEqualTo(1);
+        assertThat(this.statements(get("/api/event/cursor").param("size", "0"))).isEqualTo(1);
+        assertThat(this.statements(get("/api/event/cursor").param("size", "-5"))).isEqualTo(1);
+        assertThat(this.statements(get("/api/event/filter/cursor")
+                .param("city", "Campinas").param("uf", "SP").param("startDate", "2020-01-01").param("endDate", "2030-01-01"))).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void nearbySearchRejectsInvalidInputWithoutQuerying() throws Exception {
+        statistics.clear();
+        mockMvc.perform(get("/api/event/near").param("lat", "91").param("lon", "0")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/event/near").param("lat", "NaN").param("lon", "0")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/event/near").param("lat", "-23.5").param("lon", "-46.6").param("radiusKm", "0"))
+                .andExpect(status().isBadRequest());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    private long statements(RequestBuilder request) throws Exception {
+        statistics.clear();
+        mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private UUID createEvent() {
+        Event event = new Event();
+        event.setTitle("Evento");
+        event.setDescription("Descrição");
+        event.setEventUrl("https://evento");
+        event.setImgUrl("default-image-url");
+        event.setImgStatus(ImageStatus.NONE);
+        event.setRemote(true);
+        event.setDate(new Date(System.currentTimeMillis() + 86_400_000));
+        return eventRepository.save(event).getId();
+    }
+}
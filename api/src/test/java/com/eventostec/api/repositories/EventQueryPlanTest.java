@@ -0,0 +1,194 @@
+package com.eventostec.api.repositories;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Planos das queries de leitura que a aplicação executa. findEventsByTitle fica de fora: nada a chama, a busca por
+ * texto passa por searchEvents.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EventQueryPlanTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.jpa.properties.hibernate.session_factory.statement_inspector", CapturedStatements.class::getName);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UpcomingEventViewRepository upcomingEventViewRepository;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    private final Timestamp now = Timestamp.from(Instant.now());
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.execute("""
+                INSERT INTO event (title, description, img_url, event_url, date, remote)
+                SELECT 'Evento ' || n, 'Descrição ' || n, 'img', 'url',
+                       now() - interval '5 years' + (n * interval '30 minutes'), n % 5 = 0
+                FROM generate_series(1, 100000) AS n
+                """);
+        jdbcTemplate.execute("""
+                INSERT INTO address (city, uf, event_id)
+                SELECT 'Cidade ' || (random() * 500)::int, 'SP', id FROM event WHERE NOT remote
+                """);
+        jdbcTemplate.execute("UPDATE address SET latitude = -33 + random() * 28, longitude = -73 + random() * 39");
+        jdbcTemplate.execute("""
+                INSERT INTO coupon (code, discount, valid, event_id)
+                SELECT 'CUPOM' || g, 10, e.date, e.id
+                FROM event e CROSS JOIN generate_series(1, 3) AS g
+                WHERE random() < 0.2
+                """);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void upcomingEventsKeysetUsesViewIndex() {
+        String plan = explain(() -> upcomingEventViewRepository.findUpcomingAfter(now, now, new UUID(0L, 0L), Limit.of(11)),
+                now, now, now, new UUID(0L, 0L), 11);
+
+        assertThat(plan).contains("idx_upcoming_event_view_date_id").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void upcomingEventViewIsMaintainedAndReadByRange() {
+        Integer upcoming = jdbcTemplate.queryForObject("SELECT count(*) FROM event WHERE date >= now()", Integer.class);
+        Integer inView = jdbcTemplate.queryForObject("SELECT count(*) FROM upcoming_event_view", Integer.class);
+        assertThat(inView).isEqualTo(upcoming);
+
+        String plan = explain(() -> upcomingEventViewRepository.findUpcoming(now, PageRequest.of(10, 20)), now, 200, 20);
+
+        assertThat(plan).contains("idx_upcoming_event_view_date_id").doesNotContain("Join");
+    }
+
+    @Test
+    void filteredEventsUsesDateIndexAndUniqueAddressIndex() {
+        Timestamp start = Timestamp.from(now.toInstant().minus(1, ChronoUnit.DAYS));
+        String plan = explain(() -> eventRepository.findFilteredEventsAfter("Cidade", "SP", start, now, start, new UUID(0L, 0L), Limit.of(11)),
+                "Cidade", "%Cidade%", "SP", "%SP%", start, now, start, start, new UUID(0L, 0L), 11);
+
+        assertThat(plan).contains("idx_event_date_id").contains("uk_address_event_id");
+    }
+
+    @Test
+    void filteredEventsPageUsesDateIndexAndUniqueAddressIndex() {
+        Timestamp start = Timestamp.from(now.toInstant().minus(1, ChronoUnit.DAYS));
+        String plan = explain(() -> eventRepository.findFilteredEvents("Cidade", "SP", start, now, PageRequest.of(0, 20)),
+                "Cidade", "%Cidade%", "SP", "%SP%", start, now, 20);
+
+        assertThat(plan).contains("idx_event_date_id").contains("uk_address_event_id");
+    }
+
+    @Test
+    void searchUsesTrigramIndexesForTitleAndCity() {
+        String plan = explain(() -> eventRepository.searchEvents("Evento 4242", 10), "Evento 4242", 10);
+
+        assertThat(plan).contains("idx_event_title_search").contains("idx_address_city_search").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void eventVersionUsesPrimaryKeyAndCouponIndex() {
+        UUID eventId = jdbcTemplate.queryForObject("SELECT event_id FROM coupon LIMIT 1", UUID.class);
+        String plan = explain(() -> eventRepository.findVersion(eventId, now), now, eventId);
+
+        assertThat(plan).contains("event_pkey").contains("Index Only Scan Backward using idx_coupon_event_id_valid")
+                .doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void redeemableCouponUsesEventAndValidityIndex() {
+        UUID eventId = jdbcTemplate.queryForObject("SELECT event_id FROM coupon LIMIT 1", UUID.class);
+        String plan = explain(() -> couponRepository.findRedeemable(eventId, "CUPOM1", now), eventId, "CUPOM1", now);
+
+        assertThat(plan).contains("Index Scan using idx_coupon_event_id_valid").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void validCouponsByEventUsesCompositeIndex() {
+        UUID eventId = jdbcTemplate.queryForObject("SELECT event_id FROM coupon LIMIT 1", UUID.class);
+        String plan = explain(() -> couponRepository.findValidCoupons(eventId, now), eventId, now);
+
+        assertThat(plan).contains("Index Scan using idx_coupon_event_id_valid").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void eventDetailsAddressLookupUsesUniqueIndex() {
+        UUID eventId = jdbcTemplate.queryForObject("SELECT event_id FROM address LIMIT 1", UUID.class);
+        String plan = explain(() -> eventRepository.findWithAddressById(eventId), eventId);
+
+        assertThat(plan).contains("event_pkey").contains("uk_address_event_id");
+    }
+
+    @Test
+    void eventsNearUsesSpatialIndexForRadiusAndOrder() {
+        String plan = explain(() -> eventRepository.findEventsNear(-23.55, -46.63, 50_000.0, now, 10),
+                -23.55, -46.63, -23.55, -46.63, 50_000.0, -23.55, -46.63, 50_000.0, now, -23.55, -46.63, 10);
+
+        assertThat(plan).contains("idx_address_earth").doesNotContain("Seq Scan on address");
+    }
+
+    /**
+     * Executa o método do repositório e roda EXPLAIN sobre o SQL que o Hibernate gerou para ele. Os valores
+     * seguem a ordem dos placeholders desse SQL, então uma mudança na forma da query quebra o teste.
+     */
+    private String explain(Runnable repositoryCall, Object... args) {
+        CapturedStatements.statements.clear();
+        repositoryCall.run();
+        assertThat(CapturedStatements.statements).isNotEmpty();
+        String sql = CapturedStatements.statements.get(0);
+        assertThat(sql.chars().filter(c -> c == '?').count()).as(sql).isEqualTo(args.length);
+        return jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args).stream()
+                .collect(Collectors.joining("\n"));
+    }
+
+    public static class CapturedStatements implements StatementInspector {
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
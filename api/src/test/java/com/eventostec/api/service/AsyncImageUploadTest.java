@@ -0,0 +1,62 @@
+package com.eventostec.api.service;
+
+import com.eventostec.api.domain.event.Event;
+import com.eventostec.api.domain.event.EventRequestDTO;
+import com.eventostec.api.domain.event.ImageStatus;
+import com.eventostec.api.repositories.EventRepository;
+import com.eventostec.api.repositories.ImageUploadFailureRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "events.upload.async.enabled=true")
+@DirtiesContext
+class AsyncImageUploadTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ImageUploadFailureRepository failureRepository;
+
+    @Autowired
+    @Qualifier("imageUploadExecutor")
+    private TaskExecutor executor;
+
+    @Test
+    void uploadRejectedAfterCommitMarksTheImageFailed() throws IOException {
+        // Como no desligamento: o evento comita, mas o executor já não aceita o upload
+        ((ThreadPoolTaskExecutor) executor).shutdown();
+        long stagedBefore = this.stagedFiles();
+
+        Event event = eventService.createEvent(new EventRequestDTO("Evento", "Descrição", System.currentTimeMillis() + 86_400_000,
+                null, null, true, "https://evento", new MockMultipartFile("image", "banner.png", "image/png", new byte[]{1, 2, 3}), null));
+
+        assertThat(eventRepository.findById(event.getId())).hasValueSatisfying(saved ->
+                assertThat(saved.getImgStatus()).isEqualTo(ImageStatus.FAILED));
+        assertThat(failureRepository.findByEventId(event.getId())).singleElement().satisfies(failure ->
+                assertThat(failure.getAttempts()).isZero());
+        assertThat(this.stagedFiles()).isEqualTo(stagedBefore);
+    }
+
+    private long stagedFiles() throws IOException {
+        try (Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(file -> file.getFileName().toString().startsWith("event-img-")).count();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.eventostec.api.service;
+
+import com.eventostec.api.domain.change.ChangeEventDTO;
+import com.eventostec.api.domain.change.ChangeFeedPageDTO;
+import com.eventostec.api.domain.change.ChangeType;
+import com.eventostec.api.domain.coupon.CouponRequestDTO;
+import com.eventostec.api.domain.event.Event;
+import com.eventostec.api.domain.event.ImageStatus;
+import com.eventostec.api.repositories.EventRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class ChangeFeedTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("events.coupons.index.enabled", () -> "false");
+        registry.add("events.changes.relay.enabled", () -> "true");
+        // O teste publica chamando o relay diretamente
+        registry.add("events.changes.relay.interval", () -> "PT1H");
+        registry.add("events.changes.relay.batch-size", () -> "2");
+    }
+
+    @Autowired
+    private ChangeRelay changeRelay;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private ChangeOutboxService changeOutboxService;
+
+    @Autowired
+    private CouponService couponService;
+
+    @Autowired
+    private EventImportService eventImportService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void publishesCommittedChangesInOrderWithGaplessPositions() throws Exception {
+        changeRelay.relay();
+        long head = this.head();
+        UUID eventId = this.createEvent();
+        couponService.addCouponToEvent(eventId, new CouponRequestDTO("DEZ", 10, System.currentTimeMillis() + 60_000, 5, null));
+        couponService.addCouponToEvent(eventId, new CouponRequestDTO("VINTE", 20, System.currentTimeMillis() + 60_000, null, null));
+
+        changeRelay.relay();
+
+        List<ChangeEventDTO> changes = changeFeedService.read(head, 100);
+        assertThat(changes).extracting(ChangeEventDTO::position).containsExactly(head + 1, head + 2);
+        assertThat(changes).extracting(ChangeEventDTO::type).containsOnly(ChangeType.COUPON_CREATED);
+        assertThat(changes).extracting(ChangeEventDTO::eventId).containsOnly(eventId);
+        JsonNode payload = objectMapper.readTree(changes.get(0).payload());
+        assertThat(payload.get("code").asText()).isEqualTo("DEZ");
+        assertThat(payload.get("maxUses").asInt()).isEqualTo(5);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM change_outbox", Long.class)).isZero();
+
+        // Retomada a partir da última posição recebida
+        assertThat(changeFeedService.read(head + 1, 100)).extracting(ChangeEventDTO::position).containsExactly(head + 2);
+    }
+
+    @Test
+    void importedEventsAndCouponsArePublished() throws Exception {
+        changeRelay.relay();
+        long head = this.head();
+        long date = System.currentTimeMillis() + 86_400_000;
+        String ndjson = """
+                {"title":"Importado","description":"Desc","date":%d,"city":"Recife","state":"PE","remote":false,"eventUrl":"https://importado","coupons":[{"code":"IMP","discount":10,"valid":%d}]}
+                {"title":"Online","date":%d,"remote":true,"eventUrl":"https://online"}
+                """.formatted(date, date, date);
+
+        assertThat(eventImportService.importNdjson(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8))).imported())
+                .isEqualTo(2);
+        changeRelay.relay();
+
+        List<ChangeEventDTO> changes = changeFeedService.read(head, 100);
+        assertThat(changes).extracting(ChangeEventDTO::type)
+                .containsExactly(ChangeType.EVENT_CREATED, ChangeType.COUPON_CREATED, ChangeType.EVENT_CREATED);
+        assertThat(changes.get(1).eventId()).isEqualTo(changes.get(0).eventId());
+        JsonNode event = objectMapper.readTree(changes.get(0).payload());
+        assertThat(event.get("title").asText()).isEqualTo("Importado");
+        assertThat(event.get("city").asText()).isEqualTo("Recife");
+        assertThat(objectMapper.readTree(changes.get(1).payload()).get("code").asText()).isEqualTo("IMP");
+        assertThat(objectMapper.readTree(changes.get(2).payload()).get("city").asText()).isEmpty();
+    }
+
+    @Test
+    void rolledBackWritesLeaveNoChange() {
+        changeRelay.relay();
+        long head = this.head();
+        UUID eventId = this.createEvent();
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            changeOutboxService.record(ChangeType.COUPON_CREATED, eventId, "{}");
+            throw new IllegalStateException("falha depois do registro");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> couponService.addCouponToEvent(UUID.randomUUID(),
+                new CouponRequestDTO("NADA", 10, System.currentTimeMillis() + 60_000, null, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> changeOutboxService.record(ChangeType.COUPON_CREATED, eventId, "{}"))
+                .isInstanceOf(IllegalTransactionStateException.class);
+
+        changeRelay.relay();
+
+        assertThat(this.head()).isEqualTo(head);
+        assertThat(changeFeedService.read(head, 100)).isEmpty();
+    }
+
+    @Test
+    void longPollIsCompletedWhenTheRelayPublishes() throws InterruptedException {
+        changeRelay.relay();
+        long head = this.head();
+        DeferredResult<ResponseEntity<ChangeFeedPageDTO>> result = changeFeedService.poll(head, 10, Duration.ofSeconds(10));
+        assertThat(result.hasResult()).isFalse();
+
+        UUID eventId = this.createEvent();
+        couponService.addCouponToEvent(eventId, new CouponRequestDTO("LIVE", 15, System.currentTimeMillis() + 60_000, null, null));
+        changeRelay.relay();
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!result.hasResult() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        @SuppressWarnings("unchecked")
+        ResponseEntity<ChangeFeedPageDTO> response = (ResponseEntity<ChangeFeedPageDTO>) result.getResult();
+        assertThat(response).isNotNull();
+        assertThat(response.getBody().changes()).extracting(ChangeEventDTO::position).containsExactly(head + 1);
+        assertThat(response.getBody().next()).isEqualTo(head + 1);
+    }
+
+    @Test
+    void prunedPositionsAreNoLongerRetained() {
+        UUID eventId = this.createEvent();
+        couponService.addCouponToEvent(eventId, new CouponRequestDTO("VELHO", 10, System.currentTimeMillis() + 60_000, null, null));
+        changeRelay.relay();
+        long head = this.head();
+
+        jdbcTemplate.update("UPDATE change_feed SET published_at = now() - interval '30 days'");
+        changeRelay.prune();
+
+        assertThat(changeFeedService.isRetained(head)).isTrue();
+        assertThat(changeFeedService.isRetained(head - 1)).isFalse();
+        assertThat(changeFeedService.isRetained(0)).isFalse();
+    }
+
+    private long head() {
+        return jdbcTemplate.queryForObject("SELECT position FROM change_feed_head WHERE id = 1", Long.class);
+    }
+
+    private UUID createEvent() {
+        Event event = new Event();
+        event.setTitle("Evento");
+        event.setDescription("Descrição");
+        event.setEventUrl("https://evento");
+        event.setImgUrl("img");
+        event.setImgStatus(ImageStatus.NONE);
+        event.setDate(new Date(System.currentTimeMillis() + 86_400_000));
+        event.setRemote(true);
+        return eventRepository.save(event).getId();
+    }
+}
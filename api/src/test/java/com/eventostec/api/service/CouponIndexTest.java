@@ -0,0 +1,201 @@
+package com.eventostec.api.service;
+
+import com.eventostec.api.domain.coupon.CouponRequestDTO;
+import com.eventostec.api.domain.event.Event;
+import com.eventostec.api.domain.event.EventDetailsDTO;
+import com.eventostec.api.domain.event.ImageStatus;
+import com.eventostec.api.repositories.EventRepository;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.NestedTestConfiguration;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"events.coupons.index.max-coupons=3", "events.coupons.index.tick=PT0.1S"})
+class CouponIndexTest {
+
+    @Autowired
+    private CouponIndex couponIndex;
+
+    @Autowired
+    private CouponService couponService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Test
+    void servesAddedCouponsFromMemory() {
+        UUID eventId = this.createEvent();
+        long valid = System.currentTimeMillis() + 60_000;
+        couponService.addCouponToEvent(eventId, new CouponRequestDTO("PROMO10", 10, valid, null, null));
+
+        assertThat(couponIndex.find(eventId, new Date()))
+                .hasValueSatisfying(coupons -> assertThat(coupons)
+                        .containsExactly(new EventDetailsDTO.CouponDTO("PROMO10", 10, new Date(valid))));
+        assertThat(couponIndex.find(UUID.randomUUID(), new Date())).hasValue(List.of());
+    }
+
+    @Test
+    void evictsExpiredCouponsFromTheWheel() throws InterruptedException {
+        UUID eventId = this.createEvent();
+        long before = couponIndex.size();
+        couponService.addCouponToEvent(eventId, new CouponRequestDTO("FLASH", 50, System.currentTimeMillis() + 300, null, null));
+        assertThat(couponIndex.size()).isEqualTo(before + 1);
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (couponIndex.size() > before && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(couponIndex.size()).isEqualTo(before);
+        assertThat(couponIndex.find(eventId, new Date())).hasValue(List.of());
+    }
+
+    @Test
+    @DirtiesContext
+    void fallsBackToDatabaseOnceMemoryBoundIsReached() {
+        UUID eventId = this.createEvent();
+        long valid = System.currentTimeMillis() + 60_000;
+        for (int i = 0; i < 4; i++) {
+            couponService.addCouponToEvent(eventId, new CouponRequestDTO("BULK" + i, 5, valid, null, null));
+        }
+
+        assertThat(couponIndex.find(eventId, new Date())).isEmpty();
+        assertThat(couponService.consultCoupons(eventId, new Date())).hasSize(4);
+    }
+
+    /** Contra o Postgres, onde o change_seq vem da sequência e pode comitar fora de ordem entre transações. */
+    @Nested
+    @SpringBootTest(properties = "events.coupons.index.poll-interval=PT1H")
+    @Testcontainers(disabledWithoutDocker = true)
+    @NestedTestConfiguration(NestedTestConfiguration.EnclosingConfiguration.OVERRIDE)
+    class OnPostgres {
+
+        @Container
+        static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+        @DynamicPropertySource
+        static void postgresProperties(DynamicPropertyRegistry registry) {
+            registry.add("spring.datasource.url", postgres::getJdbcUrl);
+            registry.add("spring.datasource.username", postgres::getUsername);
+            registry.add("spring.datasource.password", postgres::getPassword);
+            registry.add("spring.flyway.enabled", () -> "true");
+            registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        }
+
+        @Autowired
+        private CouponIndex couponIndex;
+
+        @Autowired
+        private EventRepository eventRepository;
+
+        @Autowired
+        private DataSource dataSource;
+
+        @Test
+        void appliesChangesThatCommitBehindAHigherSequence() throws Exception {
+            // Eventos distintos: o trigger de versão da V12 trava a linha do evento até o commit
+            UUID slowEvent = eventRepository.save(newEvent()).getId();
+            UUID fastEvent = eventRepository.save(newEvent()).getId();
+            long valid = System.currentTimeMillis() + 60_000;
+            couponIndex.pollChanges();
+
+            try (Connection slow = dataSource.getConnection()) {
+                slow.setAutoCommit(false);
+                long lower = this.insertCoupon(slow, slowEvent, "LENTO", valid);
+                long higher;
+                try (Connection fast = dataSource.getConnection()) {
+                    higher = this.insertCoupon(fast, fastEvent, "RAPIDO", valid);
+                }
+                assertThat(higher).isGreaterThan(lower);
+
+                couponIndex.pollChanges();
+                assertThat(couponIndex.lastChangeSeq()).isGreaterThanOrEqualTo(higher);
+                assertThat(couponIndex.hasApplied(higher)).isFalse();
+                assertThat(couponIndex.find(fastEvent, new Date())).hasValueSatisfying(coupons ->
+                        assertThat(coupons).extracting(EventDetailsDTO.CouponDTO::code).containsExactly("RAPIDO"));
+
+                slow.commit();
+            }
+
+            couponIndex.pollChanges();
+            assertThat(couponIndex.hasApplied(couponIndex.lastChangeSeq())).isTrue();
+            assertThat(couponIndex.find(slowEvent, new Date())).hasValueSatisfying(coupons ->
+                    assertThat(coupons).extracting(EventDetailsDTO.CouponDTO::code).containsExactly("LENTO"));
+        }
+
+        @Test
+        void loadKeepsSequencesHeldByOpenTransactionsPending() throws Exception {
+            UUID slowEvent = eventRepository.save(newEvent()).getId();
+            UUID fastEvent = eventRepository.save(newEvent()).getId();
+            long valid = System.currentTimeMillis() + 60_000;
+
+            try (Connection slow = dataSource.getConnection()) {
+                slow.setAutoCommit(false);
+                long lower = this.insertCoupon(slow, slowEvent, "ABERTO", valid);
+                try (Connection fast = dataSource.getConnection()) {
+                    this.insertCoupon(fast, fastEvent, "COMITADO", valid);
+                }
+
+                couponIndex.load();
+                assertThat(couponIndex.hasApplied(lower)).isFalse();
+                assertThat(couponIndex.find(fastEvent, new Date())).hasValueSatisfying(coupons ->
+                        assertThat(coupons).extracting(EventDetailsDTO.CouponDTO::code).containsExactly("COMITADO"));
+
+                slow.commit();
+            }
+
+            couponIndex.pollChanges();
+            assertThat(couponIndex.hasApplied(couponIndex.lastChangeSeq())).isTrue();
+            assertThat(couponIndex.find(slowEvent, new Date())).hasValueSatisfying(coupons ->
+                    assertThat(coupons).extracting(EventDetailsDTO.CouponDTO::code).containsExactly("ABERTO"));
+        }
+
+        private long insertCoupon(Connection connection, UUID eventId, String code, long valid) throws SQLException {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO coupon (id, code, discount, valid, event_id) VALUES (?, ?, 10, ?, ?) RETURNING change_seq")) {
+                statement.setObject(1, UUID.randomUUID());
+                statement.setString(2, code);
+                statement.setTimestamp(3, new Timestamp(valid));
+                statement.setObject(4, eventId);
+                try (ResultSet rs = statement.executeQuery()) {
+                    rs.next();
+                    return rs.getLong(1);
+                }
+            }
+        }
+    }
+
+    private UUID createEvent() {
+        return eventRepository.save(newEvent()).getId();
+    }
+
+    private static Event newEvent() {
+        Event event = new Event();
+        event.setTitle("Evento");
+        event.setDescription("Descrição");
+        event.setEventUrl("https://evento");
+        event.setImgUrl("default-image-url");
+        event.setImgStatus(ImageStatus.NONE);
+        event.setRemote(true);
+        event.setDate(new Date(System.currentTimeMillis() + 86_400_000));
+        return event;
+    }
+}
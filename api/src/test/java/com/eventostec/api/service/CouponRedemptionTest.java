@@ -0,0 +1,92 @@
+package com.eventostec.api.service;
+
+import com.eventostec.api.domain.coupon.CouponRedeemRequestDTO;
+import com.eventostec.api.domain.coupon.CouponRedemptionStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class CouponRedemptionTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> "32");
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+    }
+
+    @Autowired
+    private CouponService couponService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentRedemptionsNeverExceedLimits() throws Exception {
+        UUID eventId = jdbcTemplate.queryForObject("""
+                INSERT INTO event (title, description, img_url, event_url, date, remote)
+                VALUES ('Lançamento', 'Teste', 'img', 'url', now() + interval '1 day', true) RETURNING id
+                """, UUID.class);
+        UUID couponId = jdbcTemplate.queryForObject("""
+                INSERT INTO coupon (code, discount, valid, event_id, max_uses, max_uses_per_user)
+                VALUES ('HOT', 10, now() + interval '1 day', ?, 100, 3) RETURNING id
+                """, UUID.class, eventId);
+
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        List<Callable<CouponRedemptionStatus>> attempts = IntStream.range(0, 1_000)
+                .mapToObj(i -> (Callable<CouponRedemptionStatus>) () ->
+                        couponService.redeem(eventId, new CouponRedeemRequestDTO("HOT", "user-" + (i % 50))).status())
+                .toList();
+        Map<CouponRedemptionStatus, Long> results;
+        try {
+            results = executor.invokeAll(attempts).stream()
+                    .map(CouponRedemptionTest::join)
+                    .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(results.get(CouponRedemptionStatus.REDEEMED)).isEqualTo(100);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT SUM(remaining) FROM coupon_usage_slot WHERE coupon_id = ?", Long.class, couponId)).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT MAX(uses) FROM coupon_user_usage WHERE coupon_id = ?", Integer.class, couponId)).isLessThanOrEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT SUM(uses) FROM coupon_user_usage WHERE coupon_id = ?", Long.class, couponId)).isEqualTo(100);
+    }
+
+    private static CouponRedemptionStatus join(Future<CouponRedemptionStatus> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.eventostec.api.service;
+
+import com.adobe.testing.s3mock.testcontainers.S3MockContainer;
+import com.amazonaws.services.s3.AmazonS3;
+import com.eventostec.api.domain.image.ImageUploadUrlDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.server.ResponseStatusException;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class DirectImageUploadTest {
+
+    @Container
+    static S3MockContainer s3Mock = new S3MockContainer("3.11.0");
+
+    @DynamicPropertySource
+    static void s3Properties(DynamicPropertyRegistry registry) {
+        registry.add("aws.s3.endpoint", s3Mock::getHttpEndpoint);
+        registry.add("events.upload.direct.max-size-bytes", () -> "8");
+    }
+
+    @Autowired
+    private ImageStorageService imageStorageService;
+
+    @Autowired
+    private AmazonS3 s3Client;
+
+    @Value("${aws.bucket.name}")
+    private String bucketName;
+
+    @BeforeEach
+    void createBucket() {
+        if (!s3Client.doesBucketExistV2(bucketName)) {
+            s3Client.createBucket(bucketName);
+        }
+    }
+
+    @Test
+    void clientUploadsThroughPresignedUrlAndCreateVerifiesObject() throws Exception {
+        ImageUploadUrlDTO uploadUrl = imageStorageService.createUploadUrl("banner.png", "image/png");
+        assertThat(uploadUrl.key()).startsWith("uploads/").endsWith(".png");
+
+        HttpResponse<Void> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create(uploadUrl.uploadUrl()))
+                        .header("Content-Type", "image/png")
+                        .PUT(HttpRequest.BodyPublishers.ofByteArray(new byte[]{(byte) 0x89, 'P', 'N', 'G'}))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+        assertThat(response.statusCode()).isEqualTo(200);
+
+        assertThat(imageStorageService.verifyDirectUpload(uploadUrl.key())).endsWith(uploadUrl.key());
+    }
+
+    @Test
+    void rejectsKeysThatWereNotUploaded() {
+        assertThatThrownBy(() -> imageStorageService.verifyDirectUpload("uploads/missing.png"))
+                .isInstanceOfSatisfying(ResponseStatusException.class, e -> {
+                    assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+                    assertThat(e.getReason()).isEqualTo("Image not found");
+                });
+        assertThatThrownBy(() -> imageStorageService.verifyDirectUpload("events/other.png"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThatThrownBy(() -> imageStorageService.createUploadUrl("doc.pdf", "application/pdf"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    @Test
+    void oversizedUploadIsRejectedAndDeleted() throws Exception {
+        ImageUploadUrlDTO uploadUrl = imageStorageService.createUploadUrl("big.png", "image/png");
+        HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create(uploadUrl.uploadUrl()))
+                        .header("Content-Type", "image/png")
+                        .PUT(HttpRequest.BodyPublishers.ofByteArray(new byte[16]))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+        assertThat(s3Client.doesObjectExist(bucketName, uploadUrl.key())).isTrue();
+
+        assertThatThrownBy(() -> imageStorageService.verifyDirectUpload(uploadUrl.key()))
+                .isInstanceOfSatisfying(ResponseStatusException.class, e -> {
+                    assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+                    assertThat(e.getReason()).isEqualTo("Image exceeds 8 bytes");
+                });
+        assertThat(s3Client.doesObjectExist(bucketName, uploadUrl.key())).isFalse();
+    }
+}
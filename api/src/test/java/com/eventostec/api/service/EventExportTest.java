@@ -0,0 +1,130 @@
+package com.eventostec.api.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EventExportTest {
+
+    private static final int EVENTS = 2_000_000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("events.coupons.index.enabled", () -> "false");
+    }
+
+    @Autowired
+    private EventExportService exportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.execute("""
+                INSERT INTO event (title, description, img_url, event_url, date, remote)
+                SELECT 'Evento ' || n, 'Descrição, com "aspas" ' || n, 'img', 'url',
+                       now() - interval '5 years' + (n * interval '1 minute'), n %% 5 = 0
+                FROM generate_series(1, %d) AS n
+                """.formatted(EVENTS));
+        jdbcTemplate.execute("""
+                INSERT INTO address (city, uf, event_id)
+                SELECT 'Cidade ' || (random() * 500)::int, 'SP', id FROM event WHERE NOT remote
+                """);
+        jdbcTemplate.execute("""
+                INSERT INTO coupon (code, discount, valid, event_id)
+                SELECT 'CUPOM' || g, 10, e.date, e.id
+                FROM event e CROSS JOIN generate_series(1, 3) AS g
+                WHERE random() < 0.3
+                """);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void streamsMillionsOfEventsInBoundedMemory() throws Exception {
+        HeapSamplingOutputStream output = new HeapSamplingOutputStream();
+
+        long exported = exportService.exportNdjson(output);
+
+        assertThat(exported).isEqualTo(EVENTS);
+        assertThat(output.lines).isEqualTo(EVENTS);
+        // Materializar 2M eventos custaria centenas de MB; o streaming fica na ordem do fetch size
+        assertThat(output.maxHeapGrowth).isLessThan(64L * 1024 * 1024);
+    }
+
+    @Test
+    void writesCsvWithQuotedFields() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        exportService.exportCsv(new OutputStream() {
+            private int lines;
+
+            @Override
+            public void write(int b) {
+                if (lines < 3) {
+                    output.write(b);
+                }
+                if (b == '\n') {
+                    lines++;
+                }
+            }
+        });
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines[0]).isEqualTo("id,title,description,date,city,state,remote,eventUrl,imgUrl,coupons");
+        assertThat(lines[1]).contains("\"Descrição, com \"\"aspas\"\" ");
+    }
+
+    /** Conta as linhas escritas e amostra o heap ocupado a cada 200 mil, depois de um GC. */
+    private static class HeapSamplingOutputStream extends OutputStream {
+        private final Runtime runtime = Runtime.getRuntime();
+        private final long baseline;
+        private long lines;
+        private long maxHeapGrowth;
+
+        HeapSamplingOutputStream() {
+            System.gc();
+            this.baseline = runtime.totalMemory() - runtime.freeMemory();
+        }
+
+        @Override
+        public void write(int b) {
+            if (b == '\n' && ++lines % 200_000 == 0) {
+                System.gc();
+                maxHeapGrowth = Math.max(maxHeapGrowth, runtime.totalMemory() - runtime.freeMemory() - baseline);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                this.write(b[i]);
+            }
+        }
+    }
+}
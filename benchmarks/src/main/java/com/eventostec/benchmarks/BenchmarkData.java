@@ -0,0 +1,59 @@
+package com.eventostec.benchmarks;
+
+import com.eventostec.api.domain.coupon.Coupon;
+import com.eventostec.api.domain.event.EventAddressProjection;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static List<EventAddressProjection> projections(int count) {
+        List<EventAddressProjection> rows = new ArrayList<>(count);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < count; i++) {
+            rows.add(new Row(UUID.randomUUID(), "Semana Java " + i,
+                    "Uma semana inteira de palestras e workshops sobre o ecossistema Java, número " + i,
+                    new Date(now + i * 60_000L),
+                    "https://events-bucket.s3.amazonaws.com/" + UUID.randomUUID() + "-banner-evento.png",
+                    "https://eventostec.com/eventos/" + i,
+                    i % 5 == 0,
+                    i % 5 == 0 ? null : "São Paulo",
+                    i % 5 == 0 ? null : "SP"));
+        }
+        return rows;
+    }
+
+    static List<Coupon> coupons(int count) {
+        List<Coupon> coupons = new ArrayList<>(count);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < count; i++) {
+            Coupon coupon = new Coupon();
+            coupon.setCode("CUPOM" + i);
+            coupon.setDiscount(5 + i % 50);
+            coupon.setValid(new Date(now + (i - count / 4) * 3_600_000L));
+            coupons.add(coupon);
+        }
+        return coupons;
+    }
+
+    private record Row(UUID id, String title, String description, Date date, String imgUrl, String eventUrl,
+                       Boolean remote, String city, String uf) implements EventAddressProjection {
+        public UUID getId() { return id; }
+        public String getTitle() { return title; }
+        public String getDescription() { return description; }
+        public Date getDate() { return date; }
+        public String getImgUrl() { return imgUrl; }
+        public String getImgCardUrl() { return imgUrl; }
+        public String getImgThumbnailUrl() { return imgUrl; }
+        public String getEventUrl() { return eventUrl; }
+        public Boolean getRemote() { return remote; }
+        public String getCity() { return city; }
+        public String getUf() { return uf; }
+    }
+}
@@ -0,0 +1,101 @@
+package com.eventostec.benchmarks;
+
+import com.eventostec.api.ApiApplication;
+import com.eventostec.api.domain.coupon.CouponRedeemRequestDTO;
+import com.eventostec.api.domain.coupon.CouponRedemptionStatus;
+import com.eventostec.api.service.CouponService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resgates concorrentes de um único cupom "quente". Precisa de um Postgres (SKIP LOCKED, triggers), informado por
+ * -jvmArgsAppend "-Dbench.postgres.url=... -Dbench.postgres.username=... -Dbench.postgres.password=..."
+ * O banco é migrado pelo Flyway. Ao final de cada trial confere que o total resgatado bate com o saldo consumido.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(32)
+@Fork(1)
+public class CouponRedemptionBenchmark {
+
+    private static final int MAX_USES = 10_000_000;
+
+    @Param({"1", "16"})
+    private int stripes;
+
+    private ConfigurableApplicationContext context;
+    private CouponService couponService;
+    private JdbcTemplate jdbcTemplate;
+    private UUID eventId;
+    private UUID couponId;
+    private final LongAdder redeemed = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        System.setProperty("aws.java.v1.disableDeprecationAnnouncement", "true");
+        context = new SpringApplicationBuilder(ApiApplication.class)
+                .properties(
+                        "spring.main.web-application-type=none",
+                        "spring.datasource.url=" + System.getProperty("bench.postgres.url", "jdbc:postgresql://localhost:5432/events_bench"),
+                        "spring.datasource.username=" + System.getProperty("bench.postgres.username", "postgres"),
+                        "spring.datasource.password=" + System.getProperty("bench.postgres.password", ""),
+                        "spring.datasource.hikari.maximum-pool-size=32",
+                        "events.coupons.index.enabled=false",
+                        "logging.level.root=WARN",
+                        "aws.accessKeyId=bench",
+                        "aws.secretAccessKey=bench",
+                        "aws.region=us-east-1",
+                        "aws.bucket.name=bench")
+                .run();
+        couponService = context.getBean(CouponService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        eventId = jdbcTemplate.queryForObject("""
+                INSERT INTO event (title, description, img_url, event_url, date, remote)
+                VALUES ('Lançamento', 'Benchmark', 'img', 'url', now() + interval '30 days', true) RETURNING id
+                """, UUID.class);
+        couponId = jdbcTemplate.queryForObject("""
+                INSERT INTO coupon (code, discount, valid, event_id, max_uses, max_uses_per_user)
+                VALUES ('HOT', 10, now() + interval '30 days', ?, ?, 5) RETURNING id
+                """, UUID.class, eventId, MAX_USES);
+
+        // Redistribui a capacidade no número de slots do parâmetro (1 = uma única linha disputada por todos)
+        jdbcTemplate.update("DELETE FROM coupon_usage_slot WHERE coupon_id = ?", couponId);
+        jdbcTemplate.update("""
+                INSERT INTO coupon_usage_slot (coupon_id, slot, remaining)
+                SELECT ?, g, ? / ? FROM generate_series(0, ? - 1) AS g
+                """, couponId, MAX_USES, stripes, stripes);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        long consumed = jdbcTemplate.queryForObject(
+                "SELECT ? * (? / ?) - SUM(remaining) FROM coupon_usage_slot WHERE coupon_id = ?",
+                Long.class, stripes, MAX_USES, stripes, couponId);
+        jdbcTemplate.update("DELETE FROM event WHERE id = ?", eventId);
+        context.close();
+        if (consumed != redeemed.sum()) {
+            throw new IllegalStateException("Resgates divergentes: " + redeemed.sum() + " confirmados, " + consumed + " consumidos");
+        }
+    }
+
+    @Benchmark
+    public CouponRedemptionStatus redeem() {
+        String userId = "user-" + ThreadLocalRandom.current().nextInt(5_000_000);
+        CouponRedemptionStatus status = couponService.redeem(eventId, new CouponRedeemRequestDTO("HOT", userId)).status();
+        if (status == CouponRedemptionStatus.REDEEMED) {
+            redeemed.increment();
+        }
+        return status;
+    }
+}
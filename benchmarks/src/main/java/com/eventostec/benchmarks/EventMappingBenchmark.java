@@ -0,0 +1,41 @@
+package com.eventostec.benchmarks;
+
+import com.eventostec.api.domain.coupon.Coupon;
+import com.eventostec.api.domain.event.EventAddressProjection;
+import com.eventostec.api.domain.event.EventDetailsDTO;
+import com.eventostec.api.domain.event.EventResponseDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventMappingBenchmark {
+
+    @Param({"10", "100"})
+    private int size;
+
+    private List<EventAddressProjection> projections;
+    private List<Coupon> coupons;
+
+    @Setup
+    public void setup() {
+        projections = BenchmarkData.projections(size);
+        coupons = BenchmarkData.coupons(size);
+    }
+
+    @Benchmark
+    public List<EventResponseDTO> projectionToResponse() {
+        return projections.stream().map(EventResponseDTO::fromProjection).toList();
+    }
+
+    @Benchmark
+    public List<EventDetailsDTO.CouponDTO> couponToDto() {
+        return coupons.stream().map(coupon -> new EventDetailsDTO.CouponDTO(coupon.getCode(), coupon.getDiscount(), coupon.getValid())).toList();
+    }
+}
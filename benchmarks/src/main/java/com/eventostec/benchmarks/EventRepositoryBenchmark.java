@@ -0,0 +1,131 @@
+package com.eventostec.benchmarks;
+
+import com.eventostec.api.ApiApplication;
+import com.eventostec.api.domain.event.EventAddressProjection;
+import com.eventostec.api.repositories.CouponRepository;
+import com.eventostec.api.repositories.EventRepository;
+import com.eventostec.api.repositories.UpcomingEventViewRepository;
+import com.eventostec.api.service.EventImportService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventRepositoryBenchmark {
+
+    private static final int EVENTS = 50_000;
+    private static final int PAGE_SIZE = 10;
+
+    @Param({"0", "2000"})
+    private int page;
+
+    private ConfigurableApplicationContext context;
+    private EventRepository eventRepository;
+    private UpcomingEventViewRepository upcomingEventViewRepository;
+    private CouponRepository couponRepository;
+    private Date now;
+    private Date lastDate;
+    private UUID lastId;
+    private UUID eventWithCoupons;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        System.setProperty("aws.java.v1.disableDeprecationAnnouncement", "true");
+        context = new SpringApplicationBuilder(ApiApplication.class)
+                .properties(
+                        "spring.main.web-application-type=none",
+                        "spring.datasource.url=jdbc:h2:mem:bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+                        "spring.flyway.enabled=false",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "events.changes.relay.enabled=false",
+                        "logging.level.root=WARN",
+                        "aws.accessKeyId=bench",
+                        "aws.secretAccessKey=bench",
+                        "aws.region=us-east-1",
+                        "aws.bucket.name=bench")
+                .run();
+        eventRepository = context.getBean(EventRepository.class);
+        upcomingEventViewRepository = context.getBean(UpcomingEventViewRepository.class);
+        couponRepository = context.getBean(CouponRepository.class);
+
+        now = new Date();
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        context.getBean(EventImportService.class).importNdjson(new ByteArrayInputStream(seed().getBytes(StandardCharsets.UTF_8)));
+
+        // Sem Flyway não há os triggers que mantêm o read model: preenche a tabela a partir do import
+        jdbcTemplate.update("""
+                INSERT INTO upcoming_event_view (id, title, description, date, img_url, img_card_url, img_thumbnail_url,
+                                                 event_url, remote, city, uf)
+                SELECT e.id, e.title, e.description, e.date, e.img_url, e.img_card_url, e.img_thumbnail_url,
+                       e.event_url, e.remote, a.city, a.uf
+                FROM event e LEFT JOIN address a ON a.event_id = e.id
+                """);
+
+        List<EventAddressProjection> offsetPage = upcomingEventViewRepository.findUpcoming(now, PageRequest.of(page, PAGE_SIZE));
+        EventAddressProjection previous = offsetPage.isEmpty() ? null : offsetPage.get(0);
+        lastDate = previous != null ? previous.getDate() : now;
+        lastId = previous != null ? previous.getId() : new UUID(0L, 0L);
+        eventWithCoupons = jdbcTemplate.queryForObject("SELECT event_id FROM coupon LIMIT 1", UUID.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object upcomingOffsetPage() {
+        return upcomingEventViewRepository.findUpcoming(now, PageRequest.of(page, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Object upcomingKeysetPage() {
+        return upcomingEventViewRepository.findUpcomingAfter(now, lastDate, lastId, Limit.of(PAGE_SIZE + 1));
+    }
+
+    @Benchmark
+    public Object filteredOffsetPage() {
+        return eventRepository.findFilteredEvents("Paulo", "SP", now, new Date(now.getTime() + 365L * 86_400_000L),
+                PageRequest.of(page, PAGE_SIZE)).getContent();
+    }
+
+    @Benchmark
+    public Object validCouponsByEvent() {
+        return couponRepository.findValidCoupons(eventWithCoupons, now);
+    }
+
+    private String seed() {
+        StringBuilder ndjson = new StringBuilder();
+        long start = now.getTime() - 86_400_000L;
+        long validUntil = now.getTime() + 86_400_000L;
+        for (int i = 0; i < EVENTS; i++) {
+            boolean remote = i % 5 == 0;
+            ndjson.append("{\"title\":\"Evento ").append(i)
+                    .append("\",\"description\":\"Descrição\",\"date\":").append(start + i * 60_000L)
+                    .append(",\"city\":\"São Paulo\",\"state\":\"SP\",\"remote\":").append(remote)
+                    .append(",\"eventUrl\":\"https://eventostec.com\"");
+            if (i % 10 == 0) {
+                ndjson.append(",\"coupons\":[{\"code\":\"C").append(i).append("\",\"discount\":10,\"valid\":")
+                        .append(validUntil).append("}]");
+            }
+            ndjson.append("}\n");
+        }
+        return ndjson.toString();
+    }
+}
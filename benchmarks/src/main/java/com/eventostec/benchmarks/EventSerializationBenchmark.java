@@ -0,0 +1,86 @@
+package com.eventostec.benchmarks;
+
+import com.eventostec.api.domain.event.EventDetailsDTO;
+import com.eventostec.api.domain.event.EventResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialização da listagem e do detalhe em JSON, CBOR e Smile, com e sem gzip. O tamanho de cada payload
+ * é impresso no fim de cada trial para comparar bytes trafegados com o custo de CPU medido.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventSerializationBenchmark {
+
+    @Param({"10", "100"})
+    private int size;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private ObjectMapper objectMapper;
+    private List<EventResponseDTO> events;
+    private EventDetailsDTO details;
+
+    @Setup
+    public void setup() {
+        // Mesmo ajuste da API: JSON com datas ISO-8601, formatos binários com timestamp numérico
+        objectMapper = switch (format) {
+            case "cbor" -> new ObjectMapper(new CBORFactory()).enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+            case "smile" -> new ObjectMapper(SmileFactory.builder()
+                    .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                    .build()).enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+            default -> new ObjectMapper().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        };
+
+        events = BenchmarkData.projections(size).stream().map(EventResponseDTO::fromProjection).toList();
+        details = new EventDetailsDTO(UUID.randomUUID(), "Semana Java", "Descrição", new Date(), "São Paulo", "SP",
+                "https://img", "https://img-card", "https://img-thumb", "https://evento",
+                BenchmarkData.coupons(size).stream().map(coupon -> new EventDetailsDTO.CouponDTO(coupon.getCode(), coupon.getDiscount(), coupon.getValid())).toList());
+    }
+
+    @TearDown
+    public void printSizes() throws IOException {
+        System.out.printf("%n[%s gzip=%s size=%d] listagem: %d bytes, detalhe: %d bytes%n",
+                format, gzip, size, eventListing().length, eventDetails().length);
+    }
+
+    @Benchmark
+    public byte[] eventListing() throws IOException {
+        return this.write(events);
+    }
+
+    @Benchmark
+    public byte[] eventDetails() throws IOException {
+        return this.write(details);
+    }
+
+    private byte[] write(Object value) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+        try (OutputStream output = gzip ? new GZIPOutputStream(buffer) : buffer) {
+            objectMapper.writeValue(output, value);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,57 @@
+package com.eventostec.benchmarks;
+
+import com.eventostec.api.domain.image.ProcessedImage;
+import com.eventostec.api.service.ImageProcessingService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ByteArrayResource;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput por núcleo: rode com "-t 1" e com "-t N". Memória por imagem: adicione "-prof gc" e observe gc.alloc.rate.norm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImageProcessingBenchmark {
+
+    @Param({"1920x1080", "4000x3000"})
+    private String resolution;
+
+    private ImageProcessingService imageProcessingService;
+    private ByteArrayResource source;
+
+    @Setup
+    public void setup() throws IOException {
+        String[] size = resolution.split("x");
+        int width = Integer.parseInt(size[0]);
+        int height = Integer.parseInt(size[1]);
+
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setPaint(new GradientPaint(0, 0, Color.ORANGE, width, height, Color.BLUE));
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", output);
+        source = new ByteArrayResource(output.toByteArray());
+        imageProcessingService = new ImageProcessingService(Runtime.getRuntime().availableProcessors(), 40_000_000L, 0.82f);
+    }
+
+    @Benchmark
+    public List<ProcessedImage> processVariants() throws IOException, InterruptedException {
+        return imageProcessingService.process(source);
+    }
+}